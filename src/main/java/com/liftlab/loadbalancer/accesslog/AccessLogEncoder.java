@@ -0,0 +1,15 @@
+package com.liftlab.loadbalancer.accesslog;
+
+import java.nio.ByteBuffer;
+
+interface AccessLogEncoder {
+  /**
+   * Writes one record into {@code buffer}, throwing {@link java.nio.BufferOverflowException} if it does not fit.
+   */
+  void encode(AccessLogRecord record, ByteBuffer buffer);
+
+  /**
+   * Bytes written at the start of every new log file.
+   */
+  byte[] fileHeader();
+}
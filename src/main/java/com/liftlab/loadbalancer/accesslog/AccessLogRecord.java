@@ -0,0 +1,16 @@
+package com.liftlab.loadbalancer.accesslog;
+
+/**
+ * One proxied request as captured on the request thread. Only raw values are stored here;
+ * all formatting happens on the access log writer thread.
+ */
+public record AccessLogRecord(long timestampMillis,
+                              String client,
+                              String method,
+                              String route,
+                              String backend,
+                              int status,
+                              long bytes,
+                              long upstreamNanos,
+                              long totalNanos) {
+}
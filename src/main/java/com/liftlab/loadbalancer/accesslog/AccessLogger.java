@@ -0,0 +1,198 @@
+package com.liftlab.loadbalancer.accesslog;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.service.ForwardedResponse;
+import com.liftlab.loadbalancer.util.MpscRingBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured access log for proxied requests. The request thread only allocates an
+ * {@link AccessLogRecord} and offers it to a lock-free queue; a background writer drains the queue,
+ * encodes records into a direct buffer and writes them to a size-rotated file in batches.
+ * Records are dropped, and counted, when the queue is full.
+ */
+@Component
+@Slf4j
+public class AccessLogger {
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final int MAX_RECORD_SIZE = 8192;
+
+  private final ServerConfig.AccessLog config;
+  private final AtomicLong droppedRecords = new AtomicLong();
+  private MpscRingBuffer<AccessLogRecord> queue;
+  private AccessLogEncoder encoder;
+  private ByteBuffer batch;
+  private ByteBuffer scratch;
+  private FileChannel channel;
+  private volatile boolean running;
+  private Thread writer;
+
+  public AccessLogger(ServerConfig serverConfig, MeterRegistry meterRegistry) {
+    this.config = serverConfig.getAccessLog();
+    FunctionCounter.builder("loadbalancer.accesslog.dropped", droppedRecords, AtomicLong::get)
+            .description("Access log records dropped because the queue was full or a record was too large")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    if (!config.isEnabled()) {
+      return;
+    }
+    queue = new MpscRingBuffer<>(config.getQueueSize());
+    encoder = "binary".equalsIgnoreCase(config.getFormat()) ? new BinaryAccessLogEncoder() : new JsonAccessLogEncoder();
+    batch = ByteBuffer.allocateDirect(config.getBatchBufferSize());
+    scratch = ByteBuffer.allocate(MAX_RECORD_SIZE);
+    openChannel();
+
+    running = true;
+    writer = Thread.ofPlatform()
+            .name("access-log-writer")
+            .daemon(true)
+            .start(this::writeLoop);
+    log.info("Access log enabled: {} ({})", config.getPath(), config.getFormat());
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException, IOException {
+    if (writer == null) {
+      return;
+    }
+    running = false;
+    LockSupport.unpark(writer);
+    writer.join(TimeUnit.SECONDS.toMillis(5));
+    channel.close();
+  }
+
+  public boolean isEnabled() {
+    return config.isEnabled();
+  }
+
+  public void log(HttpServletRequest request, int status, ForwardedResponse forwarded, long totalNanos) {
+    if (queue == null) {
+      return;
+    }
+    AccessLogRecord record = new AccessLogRecord(
+            System.currentTimeMillis(),
+            request.getRemoteAddr(),
+            request.getMethod(),
+            request.getRequestURI(),
+            forwarded != null ? forwarded.backendUrl() : null,
+            status,
+            forwarded != null ? forwarded.bytes() : 0,
+            forwarded != null ? forwarded.upstreamNanos() : -1,
+            totalNanos);
+    if (!queue.offer(record)) {
+      droppedRecords.incrementAndGet();
+    }
+  }
+
+  public long getDroppedRecords() {
+    return droppedRecords.get();
+  }
+
+  private void writeLoop() {
+    while (true) {
+      AccessLogRecord record = queue.poll();
+      if (record == null) {
+        flushBatch();
+        if (!running) {
+          return;
+        }
+        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        continue;
+      }
+
+      scratch.clear();
+      try {
+        encoder.encode(record, scratch);
+      } catch (BufferOverflowException e) {
+        droppedRecords.incrementAndGet();
+        continue;
+      }
+      scratch.flip();
+      if (scratch.remaining() > batch.remaining()) {
+        flushBatch();
+      }
+      batch.put(scratch);
+    }
+  }
+
+  private void flushBatch() {
+    batch.flip();
+    try {
+      if (batch.hasRemaining()) {
+        if (channel.isOpen() && channel.size() > 0 && channel.size() + batch.remaining() > config.getMaxFileSize()) {
+          try {
+            rotate();
+          } catch (IOException e) {
+            log.error("Failed to rotate access log {}, appending to the current file: {}", config.getPath(), e.getMessage());
+          }
+        }
+        if (!channel.isOpen()) {
+          openChannel();
+        }
+        while (batch.hasRemaining()) {
+          channel.write(batch);
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to write access log batch to {}: {}", config.getPath(), e.getMessage());
+    } finally {
+      batch.clear();
+    }
+  }
+
+  // Reopens the log even when a move fails, so later batches never hit a closed channel
+  private void rotate() throws IOException {
+    channel.close();
+    try {
+      Path path = Path.of(config.getPath());
+      for (int i = config.getMaxFiles() - 1; i >= 1; i--) {
+        Path source = rotatedPath(path, i);
+        if (Files.exists(source)) {
+          Files.move(source, rotatedPath(path, i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+      if (config.getMaxFiles() > 0) {
+        Files.move(path, rotatedPath(path, 1), StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        Files.delete(path);
+      }
+    } finally {
+      openChannel();
+    }
+  }
+
+  private void openChannel() throws IOException {
+    Path path = Path.of(config.getPath()).toAbsolutePath();
+    Files.createDirectories(path.getParent());
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    byte[] header = encoder.fileHeader();
+    if (channel.size() == 0 && header.length > 0) {
+      channel.write(ByteBuffer.wrap(header));
+    }
+  }
+
+  private static Path rotatedPath(Path path, int index) {
+    return path.resolveSibling(path.getFileName() + "." + index);
+  }
+}
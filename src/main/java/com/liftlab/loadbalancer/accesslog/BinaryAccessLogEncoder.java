@@ -0,0 +1,58 @@
+package com.liftlab.loadbalancer.accesslog;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact big-endian encoding. Each file starts with {@link #MAGIC} and {@link #VERSION}; each record is
+ * an int length followed by: timestamp millis (long), client, method, route, backend (short length +
+ * UTF-8, length -1 for null), status (short), bytes (long), upstream and total nanos (long each).
+ * Not thread-safe: used only by the writer thread.
+ */
+class BinaryAccessLogEncoder implements AccessLogEncoder {
+  static final int MAGIC = 0x4C42414C;
+  static final int VERSION = 1;
+
+  private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder();
+
+  @Override
+  public void encode(AccessLogRecord record, ByteBuffer buffer) {
+    int start = buffer.position();
+    buffer.putInt(0);
+    buffer.putLong(record.timestampMillis());
+    putString(record.client(), buffer);
+    putString(record.method(), buffer);
+    putString(record.route(), buffer);
+    putString(record.backend(), buffer);
+    buffer.putShort((short) record.status());
+    buffer.putLong(record.bytes());
+    buffer.putLong(record.upstreamNanos());
+    buffer.putLong(record.totalNanos());
+    buffer.putInt(start, buffer.position() - start - Integer.BYTES);
+  }
+
+  @Override
+  public byte[] fileHeader() {
+    return ByteBuffer.allocate(2 * Integer.BYTES).putInt(MAGIC).putInt(VERSION).array();
+  }
+
+  private void putString(String value, ByteBuffer buffer) {
+    if (value == null) {
+      buffer.putShort((short) -1);
+      return;
+    }
+    int lengthPosition = buffer.position();
+    buffer.putShort((short) 0);
+    utf8.reset();
+    CoderResult result = utf8.encode(CharBuffer.wrap(value), buffer, true);
+    int length = buffer.position() - lengthPosition - Short.BYTES;
+    if (result.isOverflow() || length > Short.MAX_VALUE) {
+      throw new BufferOverflowException();
+    }
+    buffer.putShort(lengthPosition, (short) length);
+  }
+}
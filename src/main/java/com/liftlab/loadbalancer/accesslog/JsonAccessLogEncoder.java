@@ -0,0 +1,75 @@
+package com.liftlab.loadbalancer.accesslog;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Newline-delimited JSON, one object per request. Not thread-safe: used only by the writer thread.
+ */
+class JsonAccessLogEncoder implements AccessLogEncoder {
+  private final StringBuilder line = new StringBuilder(256);
+  private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder();
+
+  @Override
+  public void encode(AccessLogRecord record, ByteBuffer buffer) {
+    line.setLength(0);
+    line.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(record.timestampMillis())).append('"');
+    appendField("client", record.client());
+    appendField("method", record.method());
+    appendField("route", record.route());
+    appendField("backend", record.backend());
+    line.append(",\"status\":").append(record.status());
+    line.append(",\"bytes\":").append(record.bytes());
+    line.append(",\"upstreamMicros\":").append(toMicros(record.upstreamNanos()));
+    line.append(",\"totalMicros\":").append(toMicros(record.totalNanos()));
+    line.append("}\n");
+
+    utf8.reset();
+    CoderResult result = utf8.encode(CharBuffer.wrap(line), buffer, true);
+    if (result.isOverflow()) {
+      throw new BufferOverflowException();
+    }
+  }
+
+  @Override
+  public byte[] fileHeader() {
+    return new byte[0];
+  }
+
+  private void appendField(String name, String value) {
+    line.append(",\"").append(name).append("\":");
+    if (value == null) {
+      line.append("null");
+      return;
+    }
+    line.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> line.append("\\\"");
+        case '\\' -> line.append("\\\\");
+        case '\n' -> line.append("\\n");
+        case '\r' -> line.append("\\r");
+        case '\t' -> line.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            line.append(String.format("\\u%04x", (int) c));
+          } else {
+            line.append(c);
+          }
+        }
+      }
+    }
+    line.append('"');
+  }
+
+  private static long toMicros(long nanos) {
+    return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
@@ -0,0 +1,247 @@
+package com.liftlab.loadbalancer.admission;
+
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException.Reason;
+import com.liftlab.loadbalancer.config.ServerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control in front of forwarding. At most {@code max-concurrent} requests are forwarded
+ * at once; the rest wait in a bounded queue per priority class. Freed slots are handed directly to
+ * the next waiter, chosen by smooth weighted round robin across the non-empty classes, so batch
+ * traffic keeps a share proportional to its weight but cannot starve interactive traffic.
+ * Waiters whose client deadline passes while queued are dropped instead of being forwarded.
+ */
+@Component
+public class AdmissionQueue {
+  private static final Permit NOOP = () -> {
+  };
+
+  private final ServerConfig.Admission config;
+  private final Map<String, ClassQueue> queues = new LinkedHashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Permit release = this::release;
+  private int available;
+  private int queued;
+
+  public AdmissionQueue(ServerConfig serverConfig, MeterRegistry meterRegistry) {
+    this.config = serverConfig.getAdmission();
+    this.available = config.getMaxConcurrent();
+    config.getClasses().forEach((name, priorityClass) ->
+            queues.put(name, new ClassQueue(name, priorityClass, meterRegistry)));
+    queues.computeIfAbsent(config.getDefaultClass(),
+            name -> new ClassQueue(name, new ServerConfig.PriorityClass(), meterRegistry));
+  }
+
+  public boolean isEnabled() {
+    return config.isEnabled();
+  }
+
+  /**
+   * Picks the priority class from the priority header when it names a configured class, otherwise
+   * from the longest matching route prefix, otherwise the default class.
+   */
+  public String classify(HttpServletRequest request) {
+    String requested = request.getHeader(config.getPriorityHeader());
+    if (requested != null && queues.containsKey(requested)) {
+      return requested;
+    }
+    String path = request.getRequestURI();
+    String matched = config.getDefaultClass();
+    int matchedLength = -1;
+    for (Map.Entry<String, String> route : config.getRoutes().entrySet()) {
+      if (path.startsWith(route.getKey()) && route.getKey().length() > matchedLength
+              && queues.containsKey(route.getValue())) {
+        matched = route.getValue();
+        matchedLength = route.getKey().length();
+      }
+    }
+    return matched;
+  }
+
+  /**
+   * Reads the client deadline whether or not admission is enabled; {@code enabled} only switches the
+   * queue and the concurrency limit.
+   */
+  public Deadline deadlineOf(HttpServletRequest request) {
+    return Deadline.parse(request.getHeader(config.getDeadlineHeader()));
+  }
+
+  /**
+   * Blocks until the request may be forwarded and returns the permit to close once it is done.
+   *
+   * @throws AdmissionRejectedException if the class queue is full, the wait exceeds
+   *                                    {@code max-queue-wait-millis} or the deadline passes first
+   */
+  public Permit acquire(String priorityClass, Deadline deadline) throws InterruptedException {
+    if (!isEnabled()) {
+      return NOOP;
+    }
+    ClassQueue queue = queues.getOrDefault(priorityClass, queues.get(config.getDefaultClass()));
+    lock.lock();
+    try {
+      if (deadline.isExpired()) {
+        throw queue.reject(Reason.DEADLINE_EXPIRED);
+      }
+      if (available > 0 && queued == 0) {
+        available--;
+        return release;
+      }
+      if (queue.waiters.size() >= queue.capacity) {
+        throw queue.reject(Reason.QUEUE_FULL);
+      }
+
+      Waiter waiter = new Waiter(deadline, lock.newCondition());
+      queue.waiters.addLast(waiter);
+      queued++;
+      long waitNanos = TimeUnit.MILLISECONDS.toNanos(
+              Math.min(config.getMaxQueueWaitMillis(), deadline.remainingMillis()));
+      try {
+        while (!waiter.granted) {
+          if (waiter.expired) {
+            throw queue.reject(Reason.DEADLINE_EXPIRED);
+          }
+          if (waitNanos <= 0) {
+            queue.waiters.remove(waiter);
+            queued--;
+            throw queue.reject(deadline.isExpired() ? Reason.DEADLINE_EXPIRED : Reason.QUEUE_TIMEOUT);
+          }
+          waitNanos = waiter.ready.awaitNanos(waitNanos);
+        }
+      } catch (InterruptedException e) {
+        if (waiter.granted) {
+          handOff();
+        } else if (queue.waiters.remove(waiter)) {
+          queued--;
+        }
+        throw e;
+      }
+      return release;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getQueued() {
+    lock.lock();
+    try {
+      return queued;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release() {
+    lock.lock();
+    try {
+      handOff();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Called with the lock held: passes a freed slot to the next live waiter, or returns it to the pool
+  private void handOff() {
+    Waiter next;
+    while ((next = nextWaiter()) != null) {
+      queued--;
+      if (next.deadline.isExpired()) {
+        next.expired = true;
+        next.ready.signal();
+        continue;
+      }
+      next.granted = true;
+      next.ready.signal();
+      return;
+    }
+    available++;
+  }
+
+  private Waiter nextWaiter() {
+    ClassQueue selected = null;
+    int totalWeight = 0;
+    for (ClassQueue queue : queues.values()) {
+      if (queue.waiters.isEmpty()) {
+        queue.currentWeight = 0;
+        continue;
+      }
+      queue.currentWeight += queue.weight;
+      totalWeight += queue.weight;
+      if (selected == null || queue.currentWeight > selected.currentWeight) {
+        selected = queue;
+      }
+    }
+    if (selected == null) {
+      return null;
+    }
+    selected.currentWeight -= totalWeight;
+    return selected.waiters.pollFirst();
+  }
+
+  /**
+   * Slot held by an admitted request; closing it lets the next queued request through.
+   */
+  @FunctionalInterface
+  public interface Permit extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static final class Waiter {
+    private final Deadline deadline;
+    private final Condition ready;
+    private boolean granted;
+    private boolean expired;
+
+    private Waiter(Deadline deadline, Condition ready) {
+      this.deadline = deadline;
+      this.ready = ready;
+    }
+  }
+
+  private static final class ClassQueue {
+    private final String name;
+    private final int weight;
+    private final int capacity;
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private final Map<Reason, Counter> rejected = new EnumMap<>(Reason.class);
+    private int currentWeight;
+
+    private ClassQueue(String name, ServerConfig.PriorityClass priorityClass, MeterRegistry meterRegistry) {
+      this.name = name;
+      this.weight = Math.max(1, priorityClass.getWeight());
+      this.capacity = priorityClass.getQueueSize();
+      Gauge.builder("loadbalancer.admission.queued", waiters, ArrayDeque::size)
+              .description("Requests waiting for a forwarding slot")
+              .tag("class", name)
+              .register(meterRegistry);
+      for (Reason reason : Reason.values()) {
+        rejected.put(reason, Counter.builder("loadbalancer.admission.rejected")
+                .description("Requests rejected before being forwarded")
+                .tag("class", name)
+                .tag("reason", reason.name().toLowerCase())
+                .register(meterRegistry));
+      }
+    }
+
+    private AdmissionRejectedException reject(Reason reason) {
+      rejected.get(reason).increment();
+      return new AdmissionRejectedException(reason, switch (reason) {
+        case QUEUE_FULL -> "Queue full for priority class " + name;
+        case QUEUE_TIMEOUT -> "Timed out waiting in queue for priority class " + name;
+        case DEADLINE_EXPIRED -> "Request deadline expired before forwarding";
+      });
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.liftlab.loadbalancer.admission;
+
+import lombok.Getter;
+
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+  private final Reason reason;
+
+  public AdmissionRejectedException(Reason reason, String message) {
+    super(message);
+    this.reason = reason;
+  }
+
+  @Getter
+  public enum Reason {
+    QUEUE_FULL(503),
+    QUEUE_TIMEOUT(503),
+    DEADLINE_EXPIRED(504);
+
+    private final int status;
+
+    Reason(int status) {
+      this.status = status;
+    }
+  }
+}
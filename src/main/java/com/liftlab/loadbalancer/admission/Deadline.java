@@ -0,0 +1,32 @@
+package com.liftlab.loadbalancer.admission;
+
+/**
+ * Client deadline as absolute epoch milliseconds, so it survives every hop unchanged.
+ * {@link #NONE} stands for requests that did not send one.
+ */
+public record Deadline(long epochMillis) {
+  public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+  public static Deadline parse(String header) {
+    if (header == null || header.isBlank()) {
+      return NONE;
+    }
+    try {
+      return new Deadline(Long.parseLong(header.trim()));
+    } catch (NumberFormatException e) {
+      return NONE;
+    }
+  }
+
+  public boolean isBounded() {
+    return epochMillis != Long.MAX_VALUE;
+  }
+
+  public long remainingMillis() {
+    return isBounded() ? epochMillis - System.currentTimeMillis() : Long.MAX_VALUE;
+  }
+
+  public boolean isExpired() {
+    return remainingMillis() <= 0;
+  }
+}
@@ -0,0 +1,97 @@
+package com.liftlab.loadbalancer.compression;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compresses responses of the proxied {@code /api/**} path with gzip or deflate, depending on
+ * the client's Accept-Encoding. Disabled unless {@code loadbalancer.compression.enabled} is set.
+ */
+@Component
+@Slf4j
+public class CompressionFilter extends OncePerRequestFilter {
+  private static final String PROXY_PATH = "/api/";
+
+  private final ServerConfig.Compression config;
+  private final DeflaterPool pool;
+  private final CompressionMetrics metrics;
+  private final List<MediaType> compressibleTypes;
+
+  public CompressionFilter(ServerConfig serverConfig, MeterRegistry meterRegistry) {
+    this.config = serverConfig.getCompression();
+    // Bodies below the threshold are held in one pooled buffer, so it has to fit
+    if (config.getMinResponseSize() > config.getBufferSize()) {
+      throw new IllegalStateException("loadbalancer.compression.min-response-size (" + config.getMinResponseSize()
+              + ") must not exceed buffer-size (" + config.getBufferSize() + ")");
+    }
+    this.compressibleTypes = config.getMimeTypes().stream().map(MediaType::parseMediaType).toList();
+    this.pool = new DeflaterPool(config.getLevel(), config.getPoolSize(), config.getBufferSize());
+    this.metrics = new CompressionMetrics(meterRegistry);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !config.isEnabled() || !request.getRequestURI().startsWith(PROXY_PATH);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+          throws ServletException, IOException {
+    String encoding = negotiateEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    if (encoding == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    CompressionResponseWrapper wrapper = new CompressionResponseWrapper(response, encoding, config.getMinResponseSize(),
+            compressibleTypes, pool, metrics);
+    try {
+      filterChain.doFilter(request, wrapper);
+    } finally {
+      wrapper.finish();
+    }
+  }
+
+  static String negotiateEncoding(String acceptEncoding) {
+    if (acceptEncoding == null || acceptEncoding.isBlank()) {
+      return null;
+    }
+    boolean deflate = false;
+    for (String token : acceptEncoding.split(",")) {
+      String[] parts = token.trim().split(";");
+      String coding = parts[0].trim().toLowerCase();
+      if (parts.length > 1 && isZeroQuality(parts[1])) {
+        continue;
+      }
+      if (coding.equals("gzip") || coding.equals("*")) {
+        return "gzip";
+      }
+      deflate |= coding.equals("deflate");
+    }
+    return deflate ? "deflate" : null;
+  }
+
+  private static boolean isZeroQuality(String parameter) {
+    String[] pair = parameter.trim().split("=");
+    if (pair.length != 2 || !pair[0].trim().equalsIgnoreCase("q")) {
+      return false;
+    }
+    try {
+      return Double.parseDouble(pair[1].trim()) == 0;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+}
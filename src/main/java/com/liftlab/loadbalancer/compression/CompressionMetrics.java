@@ -0,0 +1,46 @@
+package com.liftlab.loadbalancer.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+class CompressionMetrics {
+  private final MeterRegistry meterRegistry;
+  private final Counter bytesIn;
+  private final Counter bytesOut;
+  private final Counter bytesSaved;
+  private final Timer cpuTime;
+
+  CompressionMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.bytesIn = Counter.builder("loadbalancer.compression.bytes.in")
+            .description("Uncompressed bytes fed to the compressor")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    this.bytesOut = Counter.builder("loadbalancer.compression.bytes.out")
+            .description("Compressed bytes written to clients")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    this.bytesSaved = Counter.builder("loadbalancer.compression.bytes.saved")
+            .description("Bytes saved by response compression")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    this.cpuTime = Timer.builder("loadbalancer.compression.cpu.time")
+            .description("Time spent in Deflater.deflate per compressed response, excluding writes to the client")
+            .register(meterRegistry);
+  }
+
+  void recordCompressed(String encoding, long uncompressed, long compressed, long deflateNanos) {
+    bytesIn.increment(uncompressed);
+    bytesOut.increment(compressed);
+    bytesSaved.increment(Math.max(0, uncompressed - compressed));
+    cpuTime.record(deflateNanos, TimeUnit.NANOSECONDS);
+    meterRegistry.counter("loadbalancer.compression.responses", "encoding", encoding).increment();
+  }
+
+  void recordSkipped() {
+    meterRegistry.counter("loadbalancer.compression.responses", "encoding", "identity").increment();
+  }
+}
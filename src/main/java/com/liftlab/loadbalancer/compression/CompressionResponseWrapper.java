@@ -0,0 +1,410 @@
+package com.liftlab.loadbalancer.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Streams the response body through a pooled {@link Deflater}. The first {@code min-response-size}
+ * bytes are held back so that small bodies go out untouched; once the threshold is crossed the
+ * encoding is decided and everything else is compressed as it is written. {@link #reset()} and
+ * {@link #resetBuffer()} drop whatever is staged and undo that decision while still uncommitted.
+ */
+class CompressionResponseWrapper extends HttpServletResponseWrapper {
+  private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+  private final String encoding;
+  private final int minResponseSize;
+  private final List<MediaType> compressibleTypes;
+  private final DeflaterPool pool;
+  private final CompressionMetrics metrics;
+  private long declaredLength = -1;
+  private boolean encodingHeaderSet;
+  private CompressingOutputStream outputStream;
+  private boolean usingOutputStream;
+  private PrintWriter writer;
+
+  CompressionResponseWrapper(HttpServletResponse response, String encoding, int minResponseSize,
+                             List<MediaType> compressibleTypes, DeflaterPool pool, CompressionMetrics metrics) {
+    super(response);
+    this.encoding = encoding;
+    this.minResponseSize = minResponseSize;
+    this.compressibleTypes = compressibleTypes;
+    this.pool = pool;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public ServletOutputStream getOutputStream() throws IOException {
+    if (writer != null) {
+      throw new IllegalStateException("getWriter() has already been called");
+    }
+    usingOutputStream = true;
+    return stream();
+  }
+
+  @Override
+  public PrintWriter getWriter() throws IOException {
+    if (writer == null) {
+      if (usingOutputStream) {
+        throw new IllegalStateException("getOutputStream() has already been called");
+      }
+      String charset = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.ISO_8859_1.name();
+      writer = new PrintWriter(new OutputStreamWriter(stream(), charset));
+    }
+    return writer;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    declaredLength = -1;
+    encodingHeaderSet = false;
+    usingOutputStream = false;
+    discardOutput();
+  }
+
+  // Headers survive resetBuffer(), so a Content-Encoding set here is undone when the encoding is decided again
+  @Override
+  public void resetBuffer() {
+    super.resetBuffer();
+    discardOutput();
+  }
+
+  @Override
+  public void flushBuffer() throws IOException {
+    if (writer != null) {
+      writer.flush();
+    } else if (outputStream != null) {
+      outputStream.flush();
+    }
+    super.flushBuffer();
+  }
+
+  @Override
+  public void setContentLength(int len) {
+    declaredLength = len;
+  }
+
+  @Override
+  public void setContentLengthLong(long len) {
+    declaredLength = len;
+  }
+
+  @Override
+  public void setHeader(String name, String value) {
+    if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+      declaredLength = Long.parseLong(value);
+    } else {
+      super.setHeader(name, value);
+    }
+  }
+
+  @Override
+  public void addHeader(String name, String value) {
+    if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+      declaredLength = Long.parseLong(value);
+    } else {
+      super.addHeader(name, value);
+    }
+  }
+
+  @Override
+  public void setIntHeader(String name, int value) {
+    if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+      declaredLength = value;
+    } else {
+      super.setIntHeader(name, value);
+    }
+  }
+
+  @Override
+  public void addIntHeader(String name, int value) {
+    if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+      declaredLength = value;
+    } else {
+      super.addIntHeader(name, value);
+    }
+  }
+
+  private CompressingOutputStream stream() throws IOException {
+    if (outputStream == null) {
+      outputStream = new CompressingOutputStream(getResponse().getOutputStream());
+    }
+    return outputStream;
+  }
+
+  // A writer buffers encoded chars, so it is dropped and getWriter() hands out a fresh one
+  private void discardOutput() {
+    writer = null;
+    if (outputStream != null) {
+      outputStream.discard();
+    }
+  }
+
+  void finish() throws IOException {
+    if (writer != null) {
+      writer.close();
+    } else if (outputStream != null) {
+      outputStream.close();
+    } else if (declaredLength >= 0) {
+      super.setContentLengthLong(declaredLength);
+    }
+  }
+
+  private boolean isCompressible() {
+    if ((!encodingHeaderSet && getHeader(HttpHeaders.CONTENT_ENCODING) != null) || getContentType() == null) {
+      return false;
+    }
+    MediaType contentType = MediaType.parseMediaType(getContentType());
+    return compressibleTypes.stream().anyMatch(allowed -> allowed.includes(contentType));
+  }
+
+  private class CompressingOutputStream extends ServletOutputStream {
+    private final ServletOutputStream out;
+    private final boolean gzip = "gzip".equals(encoding);
+    private final CRC32 crc = new CRC32();
+    private byte[] pending;
+    private int pendingCount;
+    private byte[] deflateBuffer;
+    private Deflater deflater;
+    private boolean decided;
+    private boolean closed;
+    private long bytesIn;
+    private long bytesOut;
+    private long deflateNanos;
+
+    CompressingOutputStream(ServletOutputStream out) {
+      this.out = out;
+    }
+
+    // Single bytes are staged in the pending buffer, which is free again once the encoding is decided
+    @Override
+    public void write(int b) throws IOException {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      if (pending == null) {
+        pending = pool.borrowBuffer();
+      }
+      if (!decided) {
+        if (pendingCount + 1 < minResponseSize && (declaredLength < 0 || declaredLength >= minResponseSize)) {
+          pending[pendingCount++] = (byte) b;
+          return;
+        }
+        decide(pendingCount + 1 >= minResponseSize);
+      }
+      if (pendingCount == pending.length) {
+        writeStaged();
+      }
+      pending[pendingCount++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      if (!decided) {
+        if (pending == null) {
+          pending = pool.borrowBuffer();
+        }
+        if (pendingCount + len < minResponseSize && (declaredLength < 0 || declaredLength >= minResponseSize)) {
+          System.arraycopy(b, off, pending, pendingCount, len);
+          pendingCount += len;
+          return;
+        }
+        decide(pendingCount + len >= minResponseSize);
+      }
+      writeStaged();
+      if (deflater != null) {
+        deflate(b, off, len);
+      } else {
+        out.write(b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (decided) {
+        writeStaged();
+      }
+      if (deflater != null) {
+        drain(Deflater.SYNC_FLUSH);
+      }
+      if (decided) {
+        out.flush();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        if (!decided) {
+          decide(false);
+        }
+        writeStaged();
+        if (deflater != null) {
+          deflater.finish();
+          while (!deflater.finished()) {
+            writeCompressed(deflateBuffer, 0, runDeflater(Deflater.NO_FLUSH));
+          }
+          if (gzip) {
+            writeTrailer();
+          }
+          metrics.recordCompressed(encoding, bytesIn, bytesOut, deflateNanos);
+        }
+        out.flush();
+      } finally {
+        releaseResources();
+      }
+    }
+
+    @Override
+    public boolean isReady() {
+      return out.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      out.setWriteListener(writeListener);
+    }
+
+    private void decide(boolean largeEnough) throws IOException {
+      decided = true;
+      if (largeEnough && isCompressible()) {
+        setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        if (!encodingHeaderSet) {
+          addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+          encodingHeaderSet = true;
+        }
+        deflater = pool.borrowDeflater(gzip);
+        deflateBuffer = pool.borrowBuffer();
+        if (gzip) {
+          writeCompressed(GZIP_HEADER, 0, GZIP_HEADER.length);
+        }
+        if (pendingCount > 0) {
+          deflate(pending, 0, pendingCount);
+        }
+      } else {
+        metrics.recordSkipped();
+        if (encodingHeaderSet) {
+          // The servlet API cannot remove a header, so override the one set before resetBuffer()
+          setHeader(HttpHeaders.CONTENT_ENCODING, "identity");
+        }
+        if (declaredLength >= 0) {
+          CompressionResponseWrapper.super.setContentLengthLong(declaredLength);
+        }
+        if (pendingCount > 0) {
+          out.write(pending, 0, pendingCount);
+        }
+      }
+      pendingCount = 0;
+    }
+
+    private void writeStaged() throws IOException {
+      if (pendingCount == 0) {
+        return;
+      }
+      if (deflater != null) {
+        deflate(pending, 0, pendingCount);
+      } else {
+        out.write(pending, 0, pendingCount);
+      }
+      pendingCount = 0;
+    }
+
+    private void deflate(byte[] b, int off, int len) throws IOException {
+      bytesIn += len;
+      if (gzip) {
+        crc.update(b, off, len);
+      }
+      deflater.setInput(b, off, len);
+      while (!deflater.needsInput()) {
+        writeCompressed(deflateBuffer, 0, runDeflater(Deflater.NO_FLUSH));
+      }
+    }
+
+    private void drain(int flushMode) throws IOException {
+      int count;
+      do {
+        count = runDeflater(flushMode);
+        writeCompressed(deflateBuffer, 0, count);
+      } while (count == deflateBuffer.length);
+    }
+
+    // Only the deflate call is timed; writeCompressed can block on a slow client
+    private int runDeflater(int flushMode) {
+      long start = System.nanoTime();
+      int count = deflater.deflate(deflateBuffer, 0, deflateBuffer.length, flushMode);
+      deflateNanos += System.nanoTime() - start;
+      return count;
+    }
+
+    // Forgets staged bytes and the encoding decision; the pending buffer is kept for reuse
+    private void discard() {
+      pendingCount = 0;
+      decided = false;
+      crc.reset();
+      bytesIn = 0;
+      bytesOut = 0;
+      deflateNanos = 0;
+      releaseDeflater();
+    }
+
+    private void writeTrailer() throws IOException {
+      byte[] trailer = new byte[8];
+      writeIntLE(trailer, 0, (int) crc.getValue());
+      writeIntLE(trailer, 4, (int) bytesIn);
+      writeCompressed(trailer, 0, trailer.length);
+    }
+
+    private void writeIntLE(byte[] buffer, int offset, int value) {
+      buffer[offset] = (byte) value;
+      buffer[offset + 1] = (byte) (value >> 8);
+      buffer[offset + 2] = (byte) (value >> 16);
+      buffer[offset + 3] = (byte) (value >> 24);
+    }
+
+    private void writeCompressed(byte[] b, int off, int len) throws IOException {
+      if (len > 0) {
+        out.write(b, off, len);
+        bytesOut += len;
+      }
+    }
+
+    private void releaseResources() {
+      if (pending != null) {
+        pool.releaseBuffer(pending);
+        pending = null;
+      }
+      releaseDeflater();
+    }
+
+    private void releaseDeflater() {
+      if (deflateBuffer != null) {
+        pool.releaseBuffer(deflateBuffer);
+        deflateBuffer = null;
+      }
+      if (deflater != null) {
+        pool.releaseDeflater(deflater, gzip);
+        deflater = null;
+      }
+    }
+  }
+}
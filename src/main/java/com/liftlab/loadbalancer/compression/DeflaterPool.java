@@ -0,0 +1,47 @@
+package com.liftlab.loadbalancer.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Bounded pool of {@link Deflater} instances and byte buffers shared by all compressed responses.
+ * Deflaters hold native memory, so instances that do not fit back into the pool are ended eagerly.
+ */
+class DeflaterPool {
+  private final int level;
+  private final int bufferSize;
+  private final BlockingQueue<Deflater> gzipDeflaters;
+  private final BlockingQueue<Deflater> zlibDeflaters;
+  private final BlockingQueue<byte[]> buffers;
+
+  DeflaterPool(int level, int poolSize, int bufferSize) {
+    this.level = level;
+    this.bufferSize = bufferSize;
+    this.gzipDeflaters = new ArrayBlockingQueue<>(poolSize);
+    this.zlibDeflaters = new ArrayBlockingQueue<>(poolSize);
+    this.buffers = new ArrayBlockingQueue<>(poolSize * 2);
+  }
+
+  // gzip framing is written by hand, so gzip uses raw deflate (nowrap) while "deflate" uses the zlib wrapper
+  Deflater borrowDeflater(boolean gzip) {
+    Deflater deflater = (gzip ? gzipDeflaters : zlibDeflaters).poll();
+    return deflater != null ? deflater : new Deflater(level, gzip);
+  }
+
+  void releaseDeflater(Deflater deflater, boolean gzip) {
+    deflater.reset();
+    if (!(gzip ? gzipDeflaters : zlibDeflaters).offer(deflater)) {
+      deflater.end();
+    }
+  }
+
+  byte[] borrowBuffer() {
+    byte[] buffer = buffers.poll();
+    return buffer != null ? buffer : new byte[bufferSize];
+  }
+
+  void releaseBuffer(byte[] buffer) {
+    buffers.offer(buffer);
+  }
+}
@@ -10,7 +10,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Configuration
@@ -26,12 +28,27 @@ public class ServerConfig {
 
   private HealthCheck healthCheck = new HealthCheck();
 
+  private Upstream upstream = new Upstream();
+
+  private Compression compression = new Compression();
+
+  private Snapshot snapshot = new Snapshot();
+
+  private AccessLog accessLog = new AccessLog();
+
+  private Tcp tcp = new Tcp();
+
+  private Tls tls = new Tls();
+
+  private Admission admission = new Admission();
+
   @Data
   public static class Server {
     @NotEmpty(message = "Server URL cannot be empty")
     private String url;
     private boolean healthy = true;
     private int consecutiveFailures = 0;
+    private int consecutiveSuccesses = 0;
   }
 
   @Data
@@ -41,6 +58,91 @@ public class ServerConfig {
     private int timeoutSeconds = 5;
     private int maxFailures = 3;
     private int successThreshold = 2;
+    // Must be a power of two
+    private int eventBufferSize = 1024;
+  }
+
+  @Data
+  public static class Upstream {
+    // "http1" forwards over the shared connection pool, "h2" multiplexes requests over HTTP/2 (h2c for http:// backends)
+    private String protocol = "http1";
+    private int maxConcurrentStreams = 100;
+    private int connectTimeoutSeconds = 5;
+    private int responseTimeoutSeconds = 30;
+    private int maxConnectionsPerServer = 200;
+    private int maxConnectionsTotal = 1000;
+  }
+
+  @Data
+  public static class Compression {
+    private boolean enabled = false;
+    private int minResponseSize = 1024;
+    private int level = 6;
+    private List<String> mimeTypes = new ArrayList<>(List.of("application/json", "text/plain", "text/html"));
+    private int poolSize = 32;
+    // Must be at least min-response-size
+    private int bufferSize = 8192;
+  }
+
+  @Data
+  public static class Snapshot {
+    private boolean enabled = false;
+    private String path = "health-snapshot.bin";
+    private int intervalSeconds = 10;
+    private boolean startupSweep = true;
+  }
+
+  @Data
+  public static class AccessLog {
+    private boolean enabled = false;
+    private String path = "logs/access.log";
+    // "json" writes one object per line, "binary" writes length-prefixed records
+    private String format = "json";
+    // Must be a power of two
+    private int queueSize = 65536;
+    private int batchBufferSize = 65536;
+    private long maxFileSize = 100 * 1024 * 1024;
+    private int maxFiles = 5;
+  }
+
+  @Data
+  public static class Tcp {
+    private boolean enabled = false;
+    private int port = 9090;
+    // 0 keeps the port from each server's URL, anything else overrides it for every backend
+    private int backendPort = 0;
+    private int connectTimeoutSeconds = 5;
+    private int bufferSize = 16384;
+    private int bufferPoolSize = 256;
+  }
+
+  @Data
+  public static class Tls {
+    private int upstreamSessionCacheSize = 20480;
+    private int upstreamSessionTimeoutSeconds = 86400;
+    private int listenerSessionCacheSize = 20480;
+    private int listenerSessionTimeoutSeconds = 86400;
+  }
+
+  @Data
+  public static class Admission {
+    private boolean enabled = false;
+    // Requests forwarded at once; the rest wait in their priority class queue
+    private int maxConcurrent = 200;
+    private long maxQueueWaitMillis = 1000;
+    private String priorityHeader = "X-Priority";
+    // Absolute client deadline in epoch milliseconds, honoured even when admission is disabled
+    private String deadlineHeader = "X-Request-Deadline";
+    private String defaultClass = "interactive";
+    private Map<String, PriorityClass> classes = new LinkedHashMap<>();
+    // Path prefix to priority class, used when the request has no recognised priority header
+    private Map<String, String> routes = new LinkedHashMap<>();
+  }
+
+  @Data
+  public static class PriorityClass {
+    private int weight = 1;
+    private int queueSize = 128;
   }
 
   @PostConstruct
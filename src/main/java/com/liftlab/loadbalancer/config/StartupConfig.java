@@ -0,0 +1,33 @@
+package com.liftlab.loadbalancer.config;
+
+import com.liftlab.loadbalancer.accesslog.AccessLogger;
+import com.liftlab.loadbalancer.controller.LoadBalancerController;
+import com.liftlab.loadbalancer.event.HealthEventBus;
+import com.liftlab.loadbalancer.scheduler.HealthCheckScheduler;
+import com.liftlab.loadbalancer.scheduler.HealthSnapshotScheduler;
+import com.liftlab.loadbalancer.service.HealthSnapshotService;
+import com.liftlab.loadbalancer.tcp.TcpProxyServer;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+  /**
+   * With {@code spring.main.lazy-initialization} on (the {@code fast-startup} profile), keeps the proxy
+   * path (and through it the upstream clients), the schedulers and beans that start background work
+   * eager; everything else, e.g. actuator and management infrastructure, is created on first use.
+   */
+  @Bean
+  public static LazyInitializationExcludeFilter hotPathBeans() {
+    return LazyInitializationExcludeFilter.forBeanTypes(
+            LoadBalancerController.class,
+            HealthCheckScheduler.class,
+            HealthSnapshotScheduler.class,
+            HealthSnapshotService.class,
+            HealthEventBus.class,
+            AccessLogger.class,
+            TcpProxyServer.class);
+  }
+}
@@ -0,0 +1,35 @@
+package com.liftlab.loadbalancer.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.net.SSLHostConfig;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the listener's TLS session cache when {@code server.ssl} is enabled (see the {@code tls} profile),
+ * so returning clients resume sessions via session IDs or TLS 1.3 tickets instead of full handshakes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TlsListenerCustomizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+  private final ServerConfig serverConfig;
+
+  @Override
+  public void customize(TomcatServletWebServerFactory factory) {
+    if (factory.getSsl() == null || !factory.getSsl().isEnabled()) {
+      return;
+    }
+    ServerConfig.Tls tls = serverConfig.getTls();
+    factory.addConnectorCustomizers(connector -> {
+      for (SSLHostConfig sslHostConfig : connector.findSslHostConfigs()) {
+        sslHostConfig.setSessionCacheSize(tls.getListenerSessionCacheSize());
+        sslHostConfig.setSessionTimeout(tls.getListenerSessionTimeoutSeconds());
+      }
+    });
+    log.info("TLS listener session cache: {} sessions, {}s timeout",
+            tls.getListenerSessionCacheSize(), tls.getListenerSessionTimeoutSeconds());
+  }
+}
@@ -0,0 +1,60 @@
+package com.liftlab.loadbalancer.config;
+
+import com.liftlab.loadbalancer.service.UpstreamConnectionManager;
+import com.liftlab.loadbalancer.tls.MeteredTlsStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.net.ssl.SSLContext;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class UpstreamClientConfig {
+
+  @Bean
+  public SSLContext upstreamSslContext(ServerConfig serverConfig) throws GeneralSecurityException {
+    SSLContext sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(null, null, null);
+    sslContext.getClientSessionContext().setSessionCacheSize(serverConfig.getTls().getUpstreamSessionCacheSize());
+    sslContext.getClientSessionContext().setSessionTimeout(serverConfig.getTls().getUpstreamSessionTimeoutSeconds());
+    return sslContext;
+  }
+
+  @Bean
+  public MeteredTlsStrategy upstreamTlsStrategy(SSLContext upstreamSslContext, MeterRegistry meterRegistry) {
+    return new MeteredTlsStrategy(upstreamSslContext, meterRegistry);
+  }
+
+  // Per-backend eviction lets health listeners drop connections to a server that went unhealthy
+  @Bean
+  public UpstreamConnectionManager upstreamConnectionManager(ServerConfig serverConfig,
+                                                             MeteredTlsStrategy upstreamTlsStrategy) {
+    ServerConfig.Upstream upstream = serverConfig.getUpstream();
+    UpstreamConnectionManager connectionManager = new UpstreamConnectionManager(upstreamTlsStrategy,
+            upstream.getMaxConnectionsPerServer(), upstream.getMaxConnectionsTotal());
+    connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(upstream.getConnectTimeoutSeconds(), TimeUnit.SECONDS)
+            .build());
+    return connectionManager;
+  }
+
+  // Shared pooled client for HTTP/1 forwarding, so connections and TLS sessions are reused across requests
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient upstreamHttpClient(ServerConfig serverConfig,
+                                                UpstreamConnectionManager upstreamConnectionManager) {
+    RequestConfig config = RequestConfig.custom()
+            .setResponseTimeout(serverConfig.getUpstream().getResponseTimeoutSeconds(), TimeUnit.SECONDS)
+            .build();
+
+    return HttpClients.custom()
+            .setConnectionManager(upstreamConnectionManager)
+            .setDefaultRequestConfig(config)
+            .build();
+  }
+}
@@ -1,6 +1,11 @@
 package com.liftlab.loadbalancer.controller;
 
+import com.liftlab.loadbalancer.accesslog.AccessLogger;
+import com.liftlab.loadbalancer.admission.AdmissionQueue;
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException;
+import com.liftlab.loadbalancer.admission.Deadline;
 import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.service.ForwardedResponse;
 import com.liftlab.loadbalancer.service.LoadBalancerService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -15,16 +20,27 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LoadBalancerController {
   private final LoadBalancerService loadBalancerService;
+  private final AccessLogger accessLogger;
+  private final AdmissionQueue admissionQueue;
 
   @RequestMapping(value = "/**", method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE})
   public ResponseEntity<String> handleRequest(HttpServletRequest request) {
-    try {
+    long start = System.nanoTime();
+    ForwardedResponse forwarded = null;
+    ResponseEntity<String> response;
+    Deadline deadline = admissionQueue.deadlineOf(request);
+    try (AdmissionQueue.Permit permit = admissionQueue.acquire(admissionQueue.classify(request), deadline)) {
       HttpUriRequest httpRequest = createHttpRequest(request);
-      String response = loadBalancerService.forwardRequest(httpRequest);
-      return ResponseEntity.ok(response);
+      forwarded = loadBalancerService.forward(httpRequest, deadline);
+      // Relay the backend's status so clients and the access log see upstream errors
+      response = ResponseEntity.status(forwarded.status()).body(forwarded.body());
+    } catch (AdmissionRejectedException e) {
+      response = ResponseEntity.status(e.getReason().getStatus()).body(e.getMessage());
     } catch (Exception e) {
-      return ResponseEntity.status(500).body("Error processing request: " + e.getMessage());
+      response = ResponseEntity.status(500).body("Error processing request: " + e.getMessage());
     }
+    accessLogger.log(request, response.getStatusCode().value(), forwarded, System.nanoTime() - start);
+    return response;
   }
 
   @PostMapping("/algorithm/{algorithmName}")
@@ -0,0 +1,27 @@
+package com.liftlab.loadbalancer.event;
+
+import com.liftlab.loadbalancer.service.UpstreamConnectionManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Closes pooled HTTP/1 connections to a server as soon as it goes unhealthy, so they are not
+ * handed out again when it recovers. The h2 client keeps one multiplexed session per backend in
+ * its own internal pool and closes it on I/O failure, so it needs no eviction here.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionEvictionListener implements HealthEventListener {
+  private final UpstreamConnectionManager upstreamConnectionManager;
+
+  @Override
+  public void onHealthTransition(HealthTransitionEvent event) {
+    if (event.healthy()) {
+      return;
+    }
+    int closed = upstreamConnectionManager.closeIdle(event.serverUrl());
+    log.info("Closed {} pooled connections to unhealthy server {}", closed, event.serverUrl());
+  }
+}
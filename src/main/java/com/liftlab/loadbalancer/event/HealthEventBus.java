@@ -0,0 +1,88 @@
+package com.liftlab.loadbalancer.event;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.util.MpscRingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fans health transitions out to every {@link HealthEventListener}. Publishers only enqueue into a
+ * lock-free ring buffer, and a single dispatcher thread delivers events in order, so a slow listener
+ * can delay other listeners but never the health probe. Events are dropped, not blocked on, when the
+ * buffer is full.
+ */
+@Component
+@Slf4j
+public class HealthEventBus {
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final List<HealthEventListener> listeners;
+  private final MpscRingBuffer<HealthTransitionEvent> buffer;
+  private final AtomicLong droppedEvents = new AtomicLong();
+  private volatile boolean running;
+  private Thread dispatcher;
+
+  public HealthEventBus(ServerConfig serverConfig, List<HealthEventListener> listeners) {
+    this.listeners = listeners;
+    this.buffer = new MpscRingBuffer<>(serverConfig.getHealthCheck().getEventBufferSize());
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    dispatcher = Thread.ofPlatform()
+            .name("health-event-dispatcher")
+            .daemon(true)
+            .start(this::dispatchLoop);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (dispatcher != null) {
+      LockSupport.unpark(dispatcher);
+      dispatcher.join(TimeUnit.SECONDS.toMillis(1));
+    }
+  }
+
+  public void publish(HealthTransitionEvent event) {
+    if (!buffer.offer(event)) {
+      log.warn("Health event buffer full, dropped transition for {} ({} dropped so far)",
+              event.serverUrl(), droppedEvents.incrementAndGet());
+      return;
+    }
+    Thread target = dispatcher;
+    if (target != null) {
+      LockSupport.unpark(target);
+    }
+  }
+
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  private void dispatchLoop() {
+    while (running) {
+      HealthTransitionEvent event = buffer.poll();
+      if (event == null) {
+        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        continue;
+      }
+      for (HealthEventListener listener : listeners) {
+        try {
+          listener.onHealthTransition(event);
+        } catch (Exception e) {
+          log.error("Health event listener {} failed for {}: {}",
+                  listener.getClass().getSimpleName(), event.serverUrl(), e.getMessage());
+        }
+      }
+    }
+  }
+}
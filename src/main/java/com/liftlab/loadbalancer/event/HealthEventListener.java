@@ -0,0 +1,8 @@
+package com.liftlab.loadbalancer.event;
+
+/**
+ * Receives server health transitions on the event bus dispatcher thread, never on the probe thread.
+ */
+public interface HealthEventListener {
+  void onHealthTransition(HealthTransitionEvent event);
+}
@@ -0,0 +1,29 @@
+package com.liftlab.loadbalancer.event;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HealthMetricsListener implements HealthEventListener {
+  private final MeterRegistry meterRegistry;
+
+  public HealthMetricsListener(ServerConfig serverConfig, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    Gauge.builder("loadbalancer.servers.healthy", serverConfig,
+                    config -> config.getServers().stream().filter(Server::isHealthy).count())
+            .description("Number of servers currently eligible for selection")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public void onHealthTransition(HealthTransitionEvent event) {
+    meterRegistry.counter("loadbalancer.health.transitions",
+                    "server", event.serverUrl(),
+                    "state", event.healthy() ? "healthy" : "unhealthy",
+                    "cause", event.cause().name().toLowerCase())
+            .increment();
+  }
+}
@@ -0,0 +1,9 @@
+package com.liftlab.loadbalancer.event;
+
+public record HealthTransitionEvent(String serverUrl, boolean healthy, Cause cause, long timestampMillis) {
+
+  public enum Cause {
+    PROBE,
+    MANUAL
+  }
+}
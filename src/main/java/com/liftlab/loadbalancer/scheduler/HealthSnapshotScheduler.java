@@ -0,0 +1,22 @@
+package com.liftlab.loadbalancer.scheduler;
+
+import com.liftlab.loadbalancer.service.HealthSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HealthSnapshotScheduler {
+  private final HealthSnapshotService healthSnapshotService;
+
+  @Scheduled(fixedRateString = "#{@serverConfig.snapshot.intervalSeconds}", initialDelayString = "#{@serverConfig.snapshot.intervalSeconds}", timeUnit = TimeUnit.SECONDS)
+  public void scheduleSnapshot() {
+    log.debug("Scheduled health snapshot triggered");
+    healthSnapshotService.persist();
+  }
+}
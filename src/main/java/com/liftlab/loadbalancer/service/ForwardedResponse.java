@@ -0,0 +1,8 @@
+package com.liftlab.loadbalancer.service;
+
+/**
+ * Status and body of a forwarded request together with where it went and how long the backend took.
+ * {@code status} is the backend's status code and {@code bytes} the number of body bytes read from it.
+ */
+public record ForwardedResponse(int status, String body, String backendUrl, long bytes, long upstreamNanos) {
+}
@@ -2,34 +2,60 @@ package com.liftlab.loadbalancer.service;
 
 import com.liftlab.loadbalancer.config.ServerConfig;
 import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.event.HealthEventBus;
+import com.liftlab.loadbalancer.event.HealthTransitionEvent;
+import com.liftlab.loadbalancer.tls.MeteredTlsStrategy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Probes every server and drives its health state machine. A server becomes unhealthy after
+ * {@code max-failures} consecutive failed probes and recovers after {@code success-threshold}
+ * consecutive successful ones; each flip is published to the {@link HealthEventBus}.
+ */
 @Service
 @Slf4j
 public class HealthCheckService {
   private final ServerConfig serverConfig;
-  private final LoadBalancerService loadBalancerService;
+  private final HealthEventBus healthEventBus;
   private final CloseableHttpClient httpClient;
 
-  public HealthCheckService(ServerConfig serverConfig, LoadBalancerService loadBalancerService) {
+  @Autowired
+  public HealthCheckService(ServerConfig serverConfig, HealthEventBus healthEventBus,
+                            MeteredTlsStrategy upstreamTlsStrategy) {
+    this(serverConfig, healthEventBus, createHttpClient(serverConfig, upstreamTlsStrategy));
+  }
+
+  HealthCheckService(ServerConfig serverConfig, HealthEventBus healthEventBus, CloseableHttpClient httpClient) {
     this.serverConfig = serverConfig;
-    this.loadBalancerService = loadBalancerService;
+    this.healthEventBus = healthEventBus;
+    this.httpClient = httpClient;
+  }
 
+  private static CloseableHttpClient createHttpClient(ServerConfig serverConfig, MeteredTlsStrategy tlsStrategy) {
     // Configure HTTP client with timeout
     RequestConfig config = RequestConfig.custom()
-            .setConnectTimeout(serverConfig.getHealthCheck().getTimeoutSeconds(), TimeUnit.SECONDS)
             .setResponseTimeout(serverConfig.getHealthCheck().getTimeoutSeconds(), TimeUnit.SECONDS)
             .build();
 
-    this.httpClient = HttpClients.custom()
+    // Probes share the upstream TLS session cache, so they resume sessions instead of full handshakes
+    return HttpClients.custom()
+            .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                    .setTlsSocketStrategy(tlsStrategy)
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(serverConfig.getHealthCheck().getTimeoutSeconds(), TimeUnit.SECONDS)
+                            .build())
+                    .build())
             .setDefaultRequestConfig(config)
             .build();
   }
@@ -56,24 +82,30 @@ public class HealthCheckService {
     }
   }
 
-  private void updateServerHealth(Server server, boolean isHealthy) {
-    if (isHealthy) {
-      server.setConsecutiveFailures(0);
-      if (!server.isHealthy()) {
-        // Server needs multiple successful checks to be marked healthy
-        if (server.getConsecutiveFailures() >= serverConfig.getHealthCheck().getSuccessThreshold()) {
-          log.info("Server {} is now healthy after {} successful checks",
-                  server.getUrl(), serverConfig.getHealthCheck().getSuccessThreshold());
-          loadBalancerService.markServerHealthy(server.getUrl());
+  private void updateServerHealth(Server server, boolean probeSucceeded) {
+    ServerConfig.HealthCheck healthCheck = serverConfig.getHealthCheck();
+    synchronized (server) {
+      if (probeSucceeded) {
+        server.setConsecutiveFailures(0);
+        server.setConsecutiveSuccesses(server.getConsecutiveSuccesses() + 1);
+        if (server.isHealthy() || server.getConsecutiveSuccesses() < healthCheck.getSuccessThreshold()) {
+          return;
         }
-      }
-    } else {
-      server.setConsecutiveFailures(server.getConsecutiveFailures() + 1);
-      if (server.isHealthy() && server.getConsecutiveFailures() >= serverConfig.getHealthCheck().getMaxFailures()) {
+        server.setHealthy(true);
+        log.info("Server {} is now healthy after {} successful checks",
+                server.getUrl(), server.getConsecutiveSuccesses());
+      } else {
+        server.setConsecutiveSuccesses(0);
+        server.setConsecutiveFailures(server.getConsecutiveFailures() + 1);
+        if (!server.isHealthy() || server.getConsecutiveFailures() < healthCheck.getMaxFailures()) {
+          return;
+        }
+        server.setHealthy(false);
         log.warn("Server {} is now unhealthy after {} consecutive failures",
-                server.getUrl(), serverConfig.getHealthCheck().getMaxFailures());
-        loadBalancerService.markServerUnhealthy(server.getUrl());
+                server.getUrl(), server.getConsecutiveFailures());
       }
     }
+    healthEventBus.publish(new HealthTransitionEvent(server.getUrl(), probeSucceeded,
+            HealthTransitionEvent.Cause.PROBE, System.currentTimeMillis()));
   }
-}
\ No newline at end of file
+}
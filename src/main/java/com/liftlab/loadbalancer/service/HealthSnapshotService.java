@@ -0,0 +1,123 @@
+package com.liftlab.loadbalancer.service;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persists server health state to a small local file so that a restarted balancer does not route
+ * to backends it already knew were down. The snapshot is written to a temp file, fsynced and then
+ * atomically renamed over the previous one, so readers never observe a partial write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HealthSnapshotService {
+  private static final int MAGIC = 0x4C424853;
+  private static final int VERSION = 2;
+
+  private final ServerConfig serverConfig;
+  private final HealthCheckService healthCheckService;
+
+  // Runs before the web server starts, so the first request already sees restored and probed state
+  @PostConstruct
+  public void warmUp() {
+    if (!serverConfig.getSnapshot().isEnabled()) {
+      return;
+    }
+    restore();
+    if (serverConfig.getSnapshot().isStartupSweep()) {
+      log.info("Running startup health sweep before accepting traffic");
+      healthCheckService.checkServersHealth();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    persist();
+  }
+
+  public void restore() {
+    Path path = Path.of(serverConfig.getSnapshot().getPath());
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        log.warn("Ignoring health snapshot {}: unrecognised format", path);
+        return;
+      }
+      int count = in.readInt();
+      Map<String, ServerState> states = new HashMap<>(count);
+      for (int i = 0; i < count; i++) {
+        states.put(in.readUTF(), new ServerState(in.readBoolean(), in.readInt(), in.readInt()));
+      }
+
+      int restored = 0;
+      for (Server server : serverConfig.getServers()) {
+        ServerState state = states.get(server.getUrl());
+        if (state != null) {
+          server.setHealthy(state.healthy());
+          server.setConsecutiveFailures(state.consecutiveFailures());
+          server.setConsecutiveSuccesses(state.consecutiveSuccesses());
+          restored++;
+        }
+      }
+      log.info("Restored health state for {} servers from {}", restored, path);
+    } catch (NoSuchFileException e) {
+      log.info("No health snapshot found at {}, starting from configured state", path);
+    } catch (IOException e) {
+      log.warn("Ignoring unreadable health snapshot {}: {}", path, e.getMessage());
+    }
+  }
+
+  public void persist() {
+    if (!serverConfig.getSnapshot().isEnabled()) {
+      return;
+    }
+    Path path = Path.of(serverConfig.getSnapshot().getPath()).toAbsolutePath();
+    Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        OutputStream channelOut = Channels.newOutputStream(channel);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(channelOut));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(serverConfig.getServers().size());
+        for (Server server : serverConfig.getServers()) {
+          out.writeUTF(server.getUrl());
+          out.writeBoolean(server.isHealthy());
+          out.writeInt(server.getConsecutiveFailures());
+          out.writeInt(server.getConsecutiveSuccesses());
+        }
+        out.flush();
+        channel.force(true);
+      }
+      Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      log.debug("Persisted health snapshot for {} servers to {}", serverConfig.getServers().size(), path);
+    } catch (IOException e) {
+      log.error("Failed to persist health snapshot to {}: {}", path, e.getMessage());
+    }
+  }
+
+  private record ServerState(boolean healthy, int consecutiveFailures, int consecutiveSuccesses) {
+  }
+}
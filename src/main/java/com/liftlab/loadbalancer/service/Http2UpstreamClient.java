@@ -0,0 +1,117 @@
+package com.liftlab.loadbalancer.service;
+
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException;
+import com.liftlab.loadbalancer.admission.Deadline;
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.tls.MeteredTlsStrategy;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.H2AsyncClientBuilder;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.io.CloseMode;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards requests over HTTP/2 when {@code loadbalancer.upstream.protocol} is {@code h2}.
+ * Each backend gets a single multiplexed connection (h2c for http:// URLs, ALPN for https://),
+ * and in-flight streams per backend are capped at {@code max-concurrent-streams}. A request waits
+ * for a free stream no longer than its client deadline allows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class Http2UpstreamClient {
+  static final String PROTOCOL = "h2";
+
+  private final ServerConfig serverConfig;
+  private final MeteredTlsStrategy upstreamTlsStrategy;
+  private final Map<String, Semaphore> streamPermits = new ConcurrentHashMap<>();
+  private CloseableHttpAsyncClient httpClient;
+
+  @PostConstruct
+  public void init() {
+    if (!isEnabled()) {
+      return;
+    }
+    ServerConfig.Upstream upstream = serverConfig.getUpstream();
+
+    H2Config h2Config = H2Config.custom()
+            .setMaxConcurrentStreams(upstream.getMaxConcurrentStreams())
+            .setPushEnabled(false)
+            .build();
+
+    RequestConfig config = RequestConfig.custom()
+            .setResponseTimeout(upstream.getResponseTimeoutSeconds(), TimeUnit.SECONDS)
+            .build();
+    ConnectionConfig connectionConfig = ConnectionConfig.custom()
+            .setConnectTimeout(upstream.getConnectTimeoutSeconds(), TimeUnit.SECONDS)
+            .build();
+
+    httpClient = H2AsyncClientBuilder.create()
+            .setH2Config(h2Config)
+            .setTlsStrategy(upstreamTlsStrategy)
+            .setDefaultRequestConfig(config)
+            .setDefaultConnectionConfig(connectionConfig)
+            .build();
+    httpClient.start();
+    log.info("HTTP/2 upstream enabled with {} max concurrent streams per server", upstream.getMaxConcurrentStreams());
+  }
+
+  public boolean isEnabled() {
+    return PROTOCOL.equalsIgnoreCase(serverConfig.getUpstream().getProtocol());
+  }
+
+  /**
+   * @throws AdmissionRejectedException if the deadline passes before a stream to the server frees up
+   */
+  public ForwardedResponse execute(Server server, HttpUriRequest request, Deadline deadline) throws Exception {
+    Semaphore permits = streamPermits.computeIfAbsent(server.getUrl(),
+            url -> new Semaphore(serverConfig.getUpstream().getMaxConcurrentStreams()));
+    if (!deadline.isBounded()) {
+      permits.acquire();
+    } else if (!permits.tryAcquire(deadline.remainingMillis(), TimeUnit.MILLISECONDS)) {
+      throw new AdmissionRejectedException(AdmissionRejectedException.Reason.DEADLINE_EXPIRED,
+              "Request deadline expired waiting for a stream to " + server.getUrl());
+    }
+    long start = System.nanoTime();
+    try {
+      SimpleHttpRequest h2Request = SimpleRequestBuilder.create(request.getMethod())
+              .setUri(request.getUri())
+              .setHeaders(request.getHeaders())
+              .build();
+      // Carries per-request timeouts, e.g. those capped at the client deadline
+      if (request instanceof Configurable configurable && configurable.getConfig() != null) {
+        h2Request.setConfig(configurable.getConfig());
+      }
+      SimpleHttpResponse response = httpClient.execute(h2Request, null).get();
+      byte[] body = response.getBodyBytes();
+      return new ForwardedResponse(response.getCode(), response.getBodyText(), server.getUrl(),
+              body != null ? body.length : 0, System.nanoTime() - start);
+    } finally {
+      permits.release();
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    if (httpClient != null) {
+      httpClient.close(CloseMode.GRACEFUL);
+    }
+  }
+}
@@ -1,21 +1,30 @@
 package com.liftlab.loadbalancer.service;
 
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException;
+import com.liftlab.loadbalancer.admission.Deadline;
 import com.liftlab.loadbalancer.algorithm.LoadBalancingAlgorithm;
 import com.liftlab.loadbalancer.config.ServerConfig;
 import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.event.HealthEventBus;
+import com.liftlab.loadbalancer.event.HealthTransitionEvent;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +32,9 @@ import java.util.Map;
 public class LoadBalancerService {
   private final ServerConfig serverConfig;
   private final Map<String, LoadBalancingAlgorithm> algorithms;
+  private final Http2UpstreamClient http2UpstreamClient;
+  private final HealthEventBus healthEventBus;
+  private final CloseableHttpClient upstreamHttpClient;
   @Getter
   private LoadBalancingAlgorithm currentAlgorithm;
 
@@ -44,43 +56,112 @@ public class LoadBalancerService {
   }
 
   public String forwardRequest(HttpUriRequest request) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+    return forward(request).body();
+  }
+
+  public ForwardedResponse forward(HttpUriRequest request) {
+    return forward(request, Deadline.NONE);
+  }
+
+  /**
+   * Forwards within the client's deadline: an already expired request is dropped before anything is
+   * sent, otherwise the deadline is passed on to the backend and upstream timeouts are capped at the
+   * remaining budget.
+   */
+  public ForwardedResponse forward(HttpUriRequest request, Deadline deadline) {
+    if (deadline.isExpired()) {
+      throw new AdmissionRejectedException(AdmissionRejectedException.Reason.DEADLINE_EXPIRED,
+              "Request deadline expired before forwarding");
+    }
+    try {
       Server server = selectServer();
       String targetUrl = server.getUrl() + request.getUri().getPath();
 
       request.setUri(java.net.URI.create(targetUrl));
-
-      try (ClassicHttpResponse response = httpClient.execute(request)) {
-        String responseBody = EntityUtils.toString(response.getEntity());
-        log.debug("Response from server {}: {}", server.getUrl(), responseBody);
-        return responseBody;
+      if (deadline.isBounded()) {
+        applyDeadline(request, deadline);
       }
+
+      ForwardedResponse response = http2UpstreamClient.isEnabled()
+              ? http2UpstreamClient.execute(server, request, deadline)
+              : executeHttp1(server, request);
+      log.debug("Forwarded {} to server {} ({} bytes)", request.getMethod(), server.getUrl(), response.bytes());
+      return response;
+    } catch (AdmissionRejectedException e) {
+      throw e;
     } catch (Exception e) {
       log.error("Error forwarding request: {}", e.getMessage());
       throw new RuntimeException("Failed to forward request", e);
     }
   }
 
+  public Server selectServer() {
+    return currentAlgorithm.selectServer(serverConfig.getServers());
+  }
+
   public List<Server> getRegisteredServers() {
     return serverConfig.getServers();
   }
 
   public void markServerUnhealthy(String serverUrl) {
-    serverConfig.getServers().stream()
-            .filter(server -> server.getUrl().equals(serverUrl))
-            .findFirst()
-            .ifPresent(server -> server.setHealthy(false));
+    setServerHealth(serverUrl, false);
   }
 
   public void markServerHealthy(String serverUrl) {
+    setServerHealth(serverUrl, true);
+  }
+
+  // Manual overrides reset both counters so the probe state machine starts over from the forced state
+  private void setServerHealth(String serverUrl, boolean healthy) {
     serverConfig.getServers().stream()
             .filter(server -> server.getUrl().equals(serverUrl))
             .findFirst()
-            .ifPresent(server -> server.setHealthy(true));
+            .ifPresent(server -> {
+              boolean changed;
+              synchronized (server) {
+                changed = server.isHealthy() != healthy;
+                server.setHealthy(healthy);
+                server.setConsecutiveFailures(0);
+                server.setConsecutiveSuccesses(0);
+              }
+              if (changed) {
+                healthEventBus.publish(new HealthTransitionEvent(serverUrl, healthy,
+                        HealthTransitionEvent.Cause.MANUAL, System.currentTimeMillis()));
+              }
+            });
   }
 
-  private Server selectServer() {
-    return currentAlgorithm.selectServer(serverConfig.getServers());
+  private void applyDeadline(HttpUriRequest request, Deadline deadline) {
+    request.setHeader(serverConfig.getAdmission().getDeadlineHeader(), Long.toString(deadline.epochMillis()));
+    if (request instanceof HttpUriRequestBase configurable) {
+      ServerConfig.Upstream upstream = serverConfig.getUpstream();
+      long remaining = Math.max(1, deadline.remainingMillis());
+      RequestConfig.Builder config = RequestConfig.custom()
+              .setConnectionRequestTimeout(remaining, TimeUnit.MILLISECONDS)
+              .setResponseTimeout(Math.min(TimeUnit.SECONDS.toMillis(upstream.getResponseTimeoutSeconds()), remaining),
+                      TimeUnit.MILLISECONDS);
+      setConnectTimeout(config, Math.min(TimeUnit.SECONDS.toMillis(upstream.getConnectTimeoutSeconds()), remaining));
+      configurable.setConfig(config.build());
+    }
+  }
+
+  // Per-request connect timeouts are only settable through the deprecated RequestConfig option in 5.4;
+  // ConnectionConfig applies per pool or route, not per request
+  @SuppressWarnings("deprecation")
+  private static void setConnectTimeout(RequestConfig.Builder config, long millis) {
+    config.setConnectTimeout(millis, TimeUnit.MILLISECONDS);
+  }
+
+  private ForwardedResponse executeHttp1(Server server, HttpUriRequest request) throws IOException {
+    long start = System.nanoTime();
+    return upstreamHttpClient.execute(request, response -> {
+      HttpEntity entity = response.getEntity();
+      // Read raw bytes first so the access log counts bytes, not decoded chars
+      byte[] content = EntityUtils.toByteArray(entity);
+      String body = EntityUtils.toString(new ByteArrayEntity(content, ContentType.parseLenient(entity.getContentType())));
+      return new ForwardedResponse(response.getCode(), body, server.getUrl(), content.length,
+              System.nanoTime() - start);
+    });
   }
 
 }
@@ -0,0 +1,62 @@
+package com.liftlab.loadbalancer.service;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.DefaultHttpClientConnectionOperator;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionOperator;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.client5.http.ssl.TlsSocketStrategy;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.pool.StrictConnPool;
+import org.apache.hc.core5.util.TimeValue;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pool for HTTP/1 forwarding that can drop the idle connections of a single backend,
+ * e.g. when it is marked unhealthy, without touching the connections to the others. Leased
+ * connections are left to finish their exchange.
+ */
+public class UpstreamConnectionManager extends PoolingHttpClientConnectionManager {
+  private final StrictConnPool<HttpRoute, ManagedHttpClientConnection> pool;
+
+  public UpstreamConnectionManager(TlsSocketStrategy tlsStrategy, int maxPerRoute, int maxTotal) {
+    this(new DefaultHttpClientConnectionOperator(null, null,
+                    RegistryBuilder.<TlsSocketStrategy>create().register(URIScheme.HTTPS.id, tlsStrategy).build()),
+            new StrictConnPool<>(maxPerRoute, maxTotal, TimeValue.NEG_ONE_MILLISECOND, PoolReusePolicy.LIFO, null));
+  }
+
+  private UpstreamConnectionManager(HttpClientConnectionOperator operator,
+                                    StrictConnPool<HttpRoute, ManagedHttpClientConnection> pool) {
+    super(operator, pool, null);
+    this.pool = pool;
+  }
+
+  /**
+   * Closes the idle pooled connections to {@code serverUrl} and returns how many were closed.
+   */
+  public int closeIdle(String serverUrl) {
+    HttpHost target = withPort(HttpHost.create(URI.create(serverUrl)));
+    AtomicInteger closed = new AtomicInteger();
+    pool.enumAvailable(entry -> {
+      if (entry.hasConnection() && withPort(entry.getRoute().getTargetHost()).equals(target)) {
+        entry.discardConnection(CloseMode.GRACEFUL);
+        closed.incrementAndGet();
+      }
+    });
+    return closed.get();
+  }
+
+  private static HttpHost withPort(HttpHost host) {
+    if (host.getPort() >= 0) {
+      return new HttpHost(host.getSchemeName(), host.getHostName(), host.getPort());
+    }
+    int port = URIScheme.HTTPS.same(host.getSchemeName()) ? 443 : 80;
+    return new HttpHost(host.getSchemeName(), host.getHostName(), port);
+  }
+}
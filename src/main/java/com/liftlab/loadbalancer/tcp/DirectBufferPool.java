@@ -0,0 +1,29 @@
+package com.liftlab.loadbalancer.tcp;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of direct buffers so that relaying a connection does not allocate; buffers beyond
+ * the pool size are left to the garbage collector.
+ */
+class DirectBufferPool {
+  private final int bufferSize;
+  private final BlockingQueue<ByteBuffer> buffers;
+
+  DirectBufferPool(int bufferSize, int poolSize) {
+    this.bufferSize = bufferSize;
+    this.buffers = new ArrayBlockingQueue<>(poolSize);
+  }
+
+  ByteBuffer borrow() {
+    ByteBuffer buffer = buffers.poll();
+    return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+  }
+
+  void release(ByteBuffer buffer) {
+    buffer.clear();
+    buffers.offer(buffer);
+  }
+}
@@ -0,0 +1,205 @@
+package com.liftlab.loadbalancer.tcp;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.service.LoadBalancerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Layer-4 passthrough: accepts plain TCP connections, picks a backend with the current
+ * {@link com.liftlab.loadbalancer.algorithm.LoadBalancingAlgorithm} (so only servers the health checker
+ * considers healthy are used) and relays bytes in both directions without inspecting them.
+ * Each connection runs on a virtual thread and relays through two pooled direct buffers.
+ */
+@Component
+@Slf4j
+public class TcpProxyServer {
+  private final ServerConfig.Tcp config;
+  private final LoadBalancerService loadBalancerService;
+  private final DirectBufferPool bufferPool;
+  private final MeterRegistry meterRegistry;
+  private final AtomicInteger activeConnections = new AtomicInteger();
+  private final Counter upstreamBytes;
+  private final Counter downstreamBytes;
+  private final Counter connectFailures;
+  private final Timer connectionDuration;
+  private ServerSocketChannel serverChannel;
+  private Thread acceptor;
+
+  public TcpProxyServer(ServerConfig serverConfig, LoadBalancerService loadBalancerService, MeterRegistry meterRegistry) {
+    this.config = serverConfig.getTcp();
+    this.loadBalancerService = loadBalancerService;
+    this.bufferPool = new DirectBufferPool(config.getBufferSize(), config.getBufferPoolSize());
+    this.meterRegistry = meterRegistry;
+    this.upstreamBytes = Counter.builder("loadbalancer.tcp.bytes")
+            .tag("direction", "upstream")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    this.downstreamBytes = Counter.builder("loadbalancer.tcp.bytes")
+            .tag("direction", "downstream")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    this.connectFailures = Counter.builder("loadbalancer.tcp.connect.failures")
+            .description("Backend connection attempts that failed")
+            .register(meterRegistry);
+    this.connectionDuration = Timer.builder("loadbalancer.tcp.connection.duration")
+            .description("Lifetime of relayed TCP connections")
+            .register(meterRegistry);
+    Gauge.builder("loadbalancer.tcp.connections.active", activeConnections, AtomicInteger::get)
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    if (!config.isEnabled()) {
+      return;
+    }
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(new InetSocketAddress(config.getPort()));
+    acceptor = Thread.ofPlatform()
+            .name("tcp-proxy-acceptor")
+            .daemon(true)
+            .start(this::acceptLoop);
+    log.info("TCP passthrough listening on port {}", getLocalPort());
+  }
+
+  @PreDestroy
+  public void stop() throws IOException {
+    if (serverChannel != null) {
+      serverChannel.close();
+    }
+  }
+
+  public int getLocalPort() throws IOException {
+    return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+  }
+
+  private void acceptLoop() {
+    while (serverChannel.isOpen()) {
+      try {
+        SocketChannel client = serverChannel.accept();
+        Thread.ofVirtual().name("tcp-proxy-connection").start(() -> handle(client));
+      } catch (ClosedChannelException e) {
+        return;
+      } catch (IOException e) {
+        log.error("Failed to accept TCP connection: {}", e.getMessage());
+      }
+    }
+  }
+
+  private void handle(SocketChannel client) {
+    SocketChannel backend = connectBackend();
+    if (backend == null) {
+      closeQuietly(client);
+      return;
+    }
+
+    long start = System.nanoTime();
+    activeConnections.incrementAndGet();
+    ByteBuffer downstreamBuffer = bufferPool.borrow();
+    try {
+      ByteBuffer upstreamBuffer = bufferPool.borrow();
+      // The relay thread returns its own buffer, so an interrupted join never pools one still in use
+      Thread upstream = Thread.ofVirtual().start(() -> {
+        try {
+          relay(client, backend, upstreamBuffer, upstreamBytes);
+        } finally {
+          bufferPool.release(upstreamBuffer);
+        }
+      });
+      relay(backend, client, downstreamBuffer, downstreamBytes);
+      upstream.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      closeQuietly(client);
+      closeQuietly(backend);
+      bufferPool.release(downstreamBuffer);
+      activeConnections.decrementAndGet();
+      connectionDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  // Tries each configured server at most once, in the order the current algorithm hands them out
+  private SocketChannel connectBackend() {
+    int attempts = loadBalancerService.getRegisteredServers().size();
+    for (int i = 0; i < attempts; i++) {
+      Server server;
+      try {
+        server = loadBalancerService.selectServer();
+      } catch (IllegalStateException e) {
+        log.warn("No backend available for TCP connection: {}", e.getMessage());
+        return null;
+      }
+      InetSocketAddress address = backendAddress(server);
+      SocketChannel backend = null;
+      try {
+        backend = SocketChannel.open();
+        backend.socket().connect(address, (int) TimeUnit.SECONDS.toMillis(config.getConnectTimeoutSeconds()));
+        meterRegistry.counter("loadbalancer.tcp.connections", "server", server.getUrl()).increment();
+        return backend;
+      } catch (IOException e) {
+        connectFailures.increment();
+        log.warn("TCP connect to {} failed: {}", address, e.getMessage());
+        closeQuietly(backend);
+      }
+    }
+    return null;
+  }
+
+  private InetSocketAddress backendAddress(Server server) {
+    URI uri = URI.create(server.getUrl());
+    int port = config.getBackendPort() > 0 ? config.getBackendPort() : uri.getPort();
+    if (port < 0) {
+      port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+    return new InetSocketAddress(uri.getHost(), port);
+  }
+
+  private void relay(SocketChannel from, SocketChannel to, ByteBuffer buffer, Counter bytes) {
+    try {
+      while (from.read(buffer) >= 0) {
+        buffer.flip();
+        bytes.increment(buffer.remaining());
+        while (buffer.hasRemaining()) {
+          to.write(buffer);
+        }
+        buffer.clear();
+      }
+      // Propagate the half-close so request/response protocols see end of input
+      to.shutdownOutput();
+    } catch (IOException e) {
+      // Either side went away; closing both unblocks the opposite direction
+      closeQuietly(from);
+      closeQuietly(to);
+    }
+  }
+
+  private void closeQuietly(SocketChannel channel) {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      log.debug("Error closing TCP channel: {}", e.getMessage());
+    }
+  }
+}
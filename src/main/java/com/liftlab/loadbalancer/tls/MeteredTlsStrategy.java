@@ -0,0 +1,113 @@
+package com.liftlab.loadbalancer.tls;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.client5.http.ssl.TlsSocketStrategy;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.net.NamedEndpoint;
+import org.apache.hc.core5.reactor.ssl.TransportSecurityLayer;
+import org.apache.hc.core5.util.Timeout;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client TLS strategy shared by every upstream client (HTTP/1, HTTP/2 and health probes), so that
+ * all of them draw on one {@link SSLContext} session cache and repeated connections to the same
+ * backend resume instead of doing a full handshake. Records handshake counts and durations,
+ * tagged {@code full} or {@code resumed}.
+ */
+public class MeteredTlsStrategy implements TlsStrategy, TlsSocketStrategy {
+  private final DefaultClientTlsStrategy delegate;
+  private final Timer fullHandshakes;
+  private final Timer resumedHandshakes;
+  private final Counter failedHandshakes;
+
+  public MeteredTlsStrategy(SSLContext sslContext, MeterRegistry meterRegistry) {
+    this.delegate = new DefaultClientTlsStrategy(sslContext);
+    this.fullHandshakes = handshakeTimer(meterRegistry, "full");
+    this.resumedHandshakes = handshakeTimer(meterRegistry, "resumed");
+    this.failedHandshakes = Counter.builder("loadbalancer.tls.handshake.failures")
+            .description("Upstream TLS handshakes that failed")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public SSLSocket upgrade(Socket socket, String target, int port, Object attachment, HttpContext context)
+          throws IOException {
+    long startMillis = System.currentTimeMillis();
+    long start = System.nanoTime();
+    try {
+      SSLSocket sslSocket = delegate.upgrade(socket, target, port, attachment, context);
+      record(sslSocket.getSession(), startMillis, System.nanoTime() - start);
+      return sslSocket;
+    } catch (IOException e) {
+      failedHandshakes.increment();
+      throw e;
+    }
+  }
+
+  @Override
+  public void upgrade(TransportSecurityLayer sessionLayer, NamedEndpoint endpoint, Object attachment,
+                      Timeout handshakeTimeout, FutureCallback<TransportSecurityLayer> callback) {
+    long startMillis = System.currentTimeMillis();
+    long start = System.nanoTime();
+    delegate.upgrade(sessionLayer, endpoint, attachment, handshakeTimeout, new FutureCallback<>() {
+      @Override
+      public void completed(TransportSecurityLayer result) {
+        if (result.getTlsDetails() != null) {
+          record(result.getTlsDetails().getSSLSession(), startMillis, System.nanoTime() - start);
+        }
+        if (callback != null) {
+          callback.completed(result);
+        }
+      }
+
+      @Override
+      public void failed(Exception ex) {
+        failedHandshakes.increment();
+        if (callback != null) {
+          callback.failed(ex);
+        }
+      }
+
+      @Override
+      public void cancelled() {
+        if (callback != null) {
+          callback.cancelled();
+        }
+      }
+    });
+  }
+
+  @Override
+  @Deprecated
+  public boolean upgrade(TransportSecurityLayer sessionLayer, HttpHost host, SocketAddress localAddress,
+                         SocketAddress remoteAddress, Object attachment, Timeout handshakeTimeout) {
+    upgrade(sessionLayer, host, attachment, handshakeTimeout, null);
+    return true;
+  }
+
+  // A resumed session keeps the creation time of the full handshake that established it
+  private void record(SSLSession session, long startMillis, long durationNanos) {
+    boolean resumed = session.getCreationTime() < startMillis;
+    (resumed ? resumedHandshakes : fullHandshakes).record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static Timer handshakeTimer(MeterRegistry meterRegistry, String type) {
+    return Timer.builder("loadbalancer.tls.handshake")
+            .description("Upstream TLS handshakes")
+            .tag("type", type)
+            .register(meterRegistry);
+  }
+}
@@ -0,0 +1,66 @@
+package com.liftlab.loadbalancer.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer / single-consumer ring buffer. Producers claim a slot with a
+ * CAS on the tail cursor and publish it through a per-slot sequence, so {@link #offer} never blocks;
+ * when the buffer is full it returns {@code false} and the caller decides what to drop.
+ * {@link #poll} must only be called from a single consumer thread.
+ */
+public class MpscRingBuffer<E> {
+  private final AtomicReferenceArray<E> slots;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private long head;
+
+  public MpscRingBuffer(int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+    }
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    this.mask = capacity - 1;
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  public boolean offer(E element) {
+    while (true) {
+      long position = tail.get();
+      int index = (int) (position & mask);
+      long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots.lazySet(index, element);
+          sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (available < 0) {
+        return false;
+      } else {
+        Thread.onSpinWait();
+      }
+    }
+  }
+
+  public E poll() {
+    int index = (int) (head & mask);
+    if (sequences.get(index) != head + 1) {
+      return null;
+    }
+    E element = slots.get(index);
+    slots.lazySet(index, null);
+    sequences.set(index, head + mask + 1);
+    head++;
+    return element;
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+}
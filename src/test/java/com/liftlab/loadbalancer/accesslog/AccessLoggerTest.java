@@ -0,0 +1,138 @@
+package com.liftlab.loadbalancer.accesslog;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.service.ForwardedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.DataInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLoggerTest {
+
+  @TempDir
+  Path tempDir;
+
+  private ServerConfig serverConfig;
+  private MockHttpServletRequest request;
+
+  @BeforeEach
+  void setUp() {
+    serverConfig = new ServerConfig();
+    serverConfig.getAccessLog().setEnabled(true);
+    serverConfig.getAccessLog().setPath(tempDir.resolve("access.log").toString());
+
+    request = new MockHttpServletRequest("GET", "/api/orders");
+    request.setRemoteAddr("10.0.0.7");
+  }
+
+  @Test
+  @DisplayName("GIVEN json format WHEN requests are logged THEN one JSON line per request should be written on stop")
+  void log_JsonFormat_ShouldWriteOneLinePerRequest() throws Exception {
+    AccessLogger accessLogger = new AccessLogger(serverConfig, new SimpleMeterRegistry());
+    accessLogger.start();
+
+    accessLogger.log(request, 200, new ForwardedResponse(200, "ok", "http://server1", 2, 1_500_000), 2_000_000);
+    accessLogger.log(request, 500, null, 300_000);
+    accessLogger.stop();
+
+    List<String> lines = Files.readAllLines(tempDir.resolve("access.log"));
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(0).contains("\"client\":\"10.0.0.7\""));
+    assertTrue(lines.get(0).contains("\"route\":\"/api/orders\""));
+    assertTrue(lines.get(0).contains("\"backend\":\"http://server1\""));
+    assertTrue(lines.get(0).contains("\"upstreamMicros\":1500"));
+    assertTrue(lines.get(1).contains("\"backend\":null"));
+    assertTrue(lines.get(1).contains("\"status\":500"));
+  }
+
+  @Test
+  @DisplayName("GIVEN binary format WHEN a request is logged THEN a header and length-prefixed record should be written")
+  void log_BinaryFormat_ShouldWriteDecodableRecord() throws Exception {
+    serverConfig.getAccessLog().setFormat("binary");
+    AccessLogger accessLogger = new AccessLogger(serverConfig, new SimpleMeterRegistry());
+    accessLogger.start();
+
+    accessLogger.log(request, 200, new ForwardedResponse(200, "ok", "http://server1", 2, 1_500_000), 2_000_000);
+    accessLogger.stop();
+
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(tempDir.resolve("access.log")))) {
+      assertEquals(BinaryAccessLogEncoder.MAGIC, in.readInt());
+      assertEquals(BinaryAccessLogEncoder.VERSION, in.readInt());
+      in.readInt();
+      in.readLong();
+      assertEquals("10.0.0.7", readString(in));
+      assertEquals("GET", readString(in));
+      assertEquals("/api/orders", readString(in));
+      assertEquals("http://server1", readString(in));
+      assertEquals(200, in.readShort());
+      assertEquals(2, in.readLong());
+      assertEquals(1_500_000, in.readLong());
+      assertEquals(2_000_000, in.readLong());
+    }
+  }
+
+  @Test
+  @DisplayName("GIVEN small max file size WHEN enough requests are logged THEN the log file should be rotated")
+  void log_WhenFileExceedsMaxSize_ShouldRotate() throws Exception {
+    serverConfig.getAccessLog().setMaxFileSize(300);
+    serverConfig.getAccessLog().setBatchBufferSize(256);
+    AccessLogger accessLogger = new AccessLogger(serverConfig, new SimpleMeterRegistry());
+    accessLogger.start();
+
+    for (int i = 0; i < 20; i++) {
+      accessLogger.log(request, 200, new ForwardedResponse(200, "ok", "http://server1", 2, 1_000), 2_000);
+    }
+    accessLogger.stop();
+
+    assertTrue(Files.exists(tempDir.resolve("access.log.1")));
+    assertTrue(Files.size(tempDir.resolve("access.log")) <= 300);
+  }
+
+  @Test
+  @DisplayName("GIVEN the rotated file cannot be replaced WHEN the log rotates THEN records should keep going to the current file")
+  void log_WhenRotationFails_ShouldKeepAppending() throws Exception {
+    serverConfig.getAccessLog().setMaxFileSize(300);
+    serverConfig.getAccessLog().setBatchBufferSize(256);
+    serverConfig.getAccessLog().setMaxFiles(1);
+    // A non-empty directory cannot be replaced by a file move
+    Files.createDirectories(tempDir.resolve("access.log.1"));
+    Files.writeString(tempDir.resolve("access.log.1").resolve("blocker"), "x");
+    AccessLogger accessLogger = new AccessLogger(serverConfig, new SimpleMeterRegistry());
+    accessLogger.start();
+
+    for (int i = 0; i < 20; i++) {
+      accessLogger.log(request, 200, new ForwardedResponse(200, "ok", "http://server1", 2, 1_000), 2_000);
+    }
+    accessLogger.stop();
+
+    assertEquals(20, Files.readAllLines(tempDir.resolve("access.log")).size());
+    assertTrue(Files.isDirectory(tempDir.resolve("access.log.1")));
+  }
+
+  @Test
+  @DisplayName("GIVEN access log disabled WHEN a request is logged THEN nothing should be written")
+  void log_WhenDisabled_ShouldDoNothing() throws Exception {
+    serverConfig.getAccessLog().setEnabled(false);
+    AccessLogger accessLogger = new AccessLogger(serverConfig, new SimpleMeterRegistry());
+    accessLogger.start();
+
+    accessLogger.log(request, 200, null, 1_000);
+    accessLogger.stop();
+
+    assertFalse(Files.exists(tempDir.resolve("access.log")));
+  }
+
+  private String readString(DataInputStream in) throws Exception {
+    short length = in.readShort();
+    return new String(in.readNBytes(length));
+  }
+}
@@ -0,0 +1,156 @@
+package com.liftlab.loadbalancer.admission;
+
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException.Reason;
+import com.liftlab.loadbalancer.config.ServerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionQueueTest {
+
+  private ServerConfig serverConfig;
+
+  @BeforeEach
+  void setUp() {
+    serverConfig = new ServerConfig();
+    ServerConfig.Admission admission = serverConfig.getAdmission();
+    admission.setEnabled(true);
+    admission.setMaxConcurrent(1);
+    admission.setMaxQueueWaitMillis(5_000);
+    admission.getClasses().put("interactive", priorityClass(2, 8));
+    admission.getClasses().put("batch", priorityClass(1, 2));
+    admission.getRoutes().put("/api/batch", "batch");
+  }
+
+  @Test
+  @DisplayName("GIVEN priority header, route and neither WHEN classify is called THEN header should win over route over default")
+  void classify_ShouldPreferHeaderThenRouteThenDefault() {
+    AdmissionQueue queue = newQueue();
+
+    MockHttpServletRequest withHeader = new MockHttpServletRequest("GET", "/api/batch/export");
+    withHeader.addHeader("X-Priority", "interactive");
+    MockHttpServletRequest unknownHeader = new MockHttpServletRequest("GET", "/api/batch/export");
+    unknownHeader.addHeader("X-Priority", "urgent");
+
+    assertEquals("interactive", queue.classify(withHeader));
+    assertEquals("batch", queue.classify(unknownHeader));
+    assertEquals("interactive", queue.classify(new MockHttpServletRequest("GET", "/api/orders")));
+  }
+
+  @Test
+  @DisplayName("GIVEN all slots busy and a full class queue WHEN acquire is called THEN it should reject with QUEUE_FULL")
+  void acquire_WhenClassQueueFull_ShouldReject() throws Exception {
+    serverConfig.getAdmission().getClasses().get("batch").setQueueSize(0);
+    AdmissionQueue queue = newQueue();
+
+    try (AdmissionQueue.Permit ignored = queue.acquire("interactive", Deadline.NONE)) {
+      AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+              () -> queue.acquire("batch", Deadline.NONE));
+      assertEquals(Reason.QUEUE_FULL, e.getReason());
+      assertEquals(503, e.getReason().getStatus());
+    }
+  }
+
+  @Test
+  @DisplayName("GIVEN an expired deadline WHEN acquire is called THEN it should reject before queueing")
+  void acquire_WithExpiredDeadline_ShouldReject() {
+    AdmissionQueue queue = newQueue();
+
+    AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+            () -> queue.acquire("interactive", new Deadline(System.currentTimeMillis() - 1)));
+
+    assertEquals(Reason.DEADLINE_EXPIRED, e.getReason());
+    assertEquals(0, queue.getQueued());
+  }
+
+  @Test
+  @DisplayName("GIVEN a queued request WHEN its deadline passes before a slot frees THEN it should be dropped")
+  void acquire_WhenDeadlinePassesWhileQueued_ShouldReject() throws Exception {
+    AdmissionQueue queue = newQueue();
+
+    try (AdmissionQueue.Permit ignored = queue.acquire("interactive", Deadline.NONE)) {
+      AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+              () -> queue.acquire("batch", new Deadline(System.currentTimeMillis() + 50)));
+      assertEquals(Reason.DEADLINE_EXPIRED, e.getReason());
+    }
+    assertEquals(0, queue.getQueued());
+  }
+
+  @Test
+  @DisplayName("GIVEN waiters in both classes WHEN slots free up THEN they should be granted in weighted round robin order")
+  void release_ShouldDequeueByWeight() throws Exception {
+    AdmissionQueue queue = newQueue();
+    List<String> granted = Collections.synchronizedList(new ArrayList<>());
+    List<Thread> waiters = new ArrayList<>();
+
+    AdmissionQueue.Permit held = queue.acquire("interactive", Deadline.NONE);
+    for (String priorityClass : List.of("batch", "batch", "interactive", "interactive", "interactive")) {
+      waiters.add(Thread.ofPlatform().start(() -> {
+        try (AdmissionQueue.Permit ignored = queue.acquire(priorityClass, Deadline.NONE)) {
+          granted.add(priorityClass);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }));
+      awaitQueued(queue, waiters.size());
+    }
+    held.close();
+    for (Thread waiter : waiters) {
+      waiter.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    assertEquals(List.of("interactive", "batch", "interactive", "interactive", "batch"), granted);
+  }
+
+  @Test
+  @DisplayName("GIVEN admission disabled WHEN acquire is called THEN it should never block or reject")
+  void acquire_WhenDisabled_ShouldAlwaysAdmit() throws Exception {
+    serverConfig.getAdmission().setEnabled(false);
+    AdmissionQueue queue = newQueue();
+
+    try (AdmissionQueue.Permit first = queue.acquire("batch", Deadline.NONE);
+         AdmissionQueue.Permit second = queue.acquire("batch", Deadline.NONE)) {
+      assertEquals(0, queue.getQueued());
+    }
+    assertSame(Deadline.NONE, queue.deadlineOf(new MockHttpServletRequest()));
+  }
+
+  @Test
+  @DisplayName("GIVEN admission disabled and a deadline header WHEN deadlineOf is called THEN the deadline should still be parsed")
+  void deadlineOf_WhenDisabled_ShouldParseHeader() {
+    serverConfig.getAdmission().setEnabled(false);
+    AdmissionQueue queue = newQueue();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+    request.addHeader("X-Request-Deadline", "1700000000000");
+
+    assertEquals(new Deadline(1_700_000_000_000L), queue.deadlineOf(request));
+  }
+
+  private AdmissionQueue newQueue() {
+    return new AdmissionQueue(serverConfig, new SimpleMeterRegistry());
+  }
+
+  private static void awaitQueued(AdmissionQueue queue, int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (queue.getQueued() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(expected, queue.getQueued());
+  }
+
+  private static ServerConfig.PriorityClass priorityClass(int weight, int queueSize) {
+    ServerConfig.PriorityClass priorityClass = new ServerConfig.PriorityClass();
+    priorityClass.setWeight(weight);
+    priorityClass.setQueueSize(queueSize);
+    return priorityClass;
+  }
+}
@@ -0,0 +1,246 @@
+package com.liftlab.loadbalancer.compression;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressionFilterTest {
+  private static final long SLOW_WRITE_MILLIS = 100;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CompressionFilter compressionFilter;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @BeforeEach
+  void setUp() {
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.getCompression().setEnabled(true);
+    serverConfig.getCompression().setMinResponseSize(256);
+
+    meterRegistry = new SimpleMeterRegistry();
+    compressionFilter = new CompressionFilter(serverConfig, meterRegistry);
+
+    request = new MockHttpServletRequest("GET", "/api/test");
+    response = new MockHttpServletResponse();
+  }
+
+  @Test
+  @DisplayName("GIVEN client accepts gzip and large JSON body WHEN filtered THEN response should be gzip encoded")
+  void doFilter_LargeJsonWithGzip_ShouldCompress() throws Exception {
+    String body = "{\"value\":\"" + "a".repeat(10_000) + "\"}";
+    request.addHeader("Accept-Encoding", "gzip, deflate");
+
+    compressionFilter.doFilter(request, response, writing(body, "application/json"));
+
+    assertEquals("gzip", response.getHeader("Content-Encoding"));
+    assertTrue(response.getContentAsByteArray().length < body.length());
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+      assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    assertTrue(meterRegistry.get("loadbalancer.compression.bytes.saved").counter().count() > 0);
+  }
+
+  @Test
+  @DisplayName("GIVEN body written one byte at a time WHEN filtered THEN response should be gzip encoded intact")
+  void doFilter_SingleByteWrites_ShouldCompress() throws Exception {
+    String body = "{\"value\":\"" + "d".repeat(20_000) + "\"}";
+    request.addHeader("Accept-Encoding", "gzip");
+
+    compressionFilter.doFilter(request, response, (req, res) -> {
+      res.setContentType("application/json");
+      for (byte b : body.getBytes(StandardCharsets.UTF_8)) {
+        res.getOutputStream().write(b);
+      }
+    });
+
+    assertEquals("gzip", response.getHeader("Content-Encoding"));
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+      assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  @DisplayName("GIVEN a client that is slow to accept writes WHEN filtered THEN deflate time should exclude the write stalls")
+  void doFilter_SlowClient_ShouldOnlyTimeDeflate() throws Exception {
+    String body = "{\"value\":\"" + "e".repeat(10_000) + "\"}";
+    request.addHeader("Accept-Encoding", "gzip");
+    HttpServletResponseWrapper slowClient = new HttpServletResponseWrapper(response) {
+      private final ServletOutputStream out = new ServletOutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+          response.getOutputStream().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(SLOW_WRITE_MILLIS));
+          response.getOutputStream().write(b, off, len);
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+      };
+
+      @Override
+      public ServletOutputStream getOutputStream() {
+        return out;
+      }
+    };
+
+    compressionFilter.doFilter(request, slowClient, writing(body, "application/json"));
+
+    assertEquals("gzip", response.getHeader("Content-Encoding"));
+    Timer deflateTime = meterRegistry.get("loadbalancer.compression.cpu.time").timer();
+    assertEquals(1, deflateTime.count());
+    assertTrue(deflateTime.totalTime(TimeUnit.MILLISECONDS) < SLOW_WRITE_MILLIS,
+            "deflate time " + deflateTime.totalTime(TimeUnit.MILLISECONDS) + "ms includes client writes");
+  }
+
+  @Test
+  @DisplayName("GIVEN a compressed body in progress WHEN the response is reset for an error page THEN the error page should go out uncompressed")
+  void doFilter_ResetAfterCompressing_ShouldUndoEncoding() throws Exception {
+    request.addHeader("Accept-Encoding", "gzip");
+
+    compressionFilter.doFilter(request, response, (req, res) -> {
+      res.setContentType("application/json");
+      res.getOutputStream().write(("{\"value\":\"" + "f".repeat(4096) + "\"}").getBytes(StandardCharsets.UTF_8));
+      res.reset();
+      res.setContentType("text/plain");
+      res.getWriter().write("error");
+    });
+
+    assertNull(response.getHeader("Content-Encoding"));
+    assertEquals("error", response.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("GIVEN staged and compressed bytes WHEN resetBuffer is called THEN only the bytes written afterwards should be sent")
+  void doFilter_ResetBuffer_ShouldDropStagedBytes() throws Exception {
+    String body = "{\"value\":\"" + "g".repeat(4096) + "\"}";
+    request.addHeader("Accept-Encoding", "gzip");
+
+    compressionFilter.doFilter(request, response, (req, res) -> {
+      res.setContentType("application/json");
+      res.getOutputStream().write("{\"partial\":".getBytes(StandardCharsets.UTF_8));
+      res.resetBuffer();
+      res.getOutputStream().write(("{\"value\":\"" + "h".repeat(4096) + "\"}").getBytes(StandardCharsets.UTF_8));
+      res.resetBuffer();
+      res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    });
+
+    assertEquals("gzip", response.getHeader("Content-Encoding"));
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+      assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  @DisplayName("GIVEN a compressed body in progress WHEN resetBuffer is followed by a small body THEN it should be sent as identity")
+  void doFilter_ResetBufferThenSmallBody_ShouldSendIdentity() throws Exception {
+    request.addHeader("Accept-Encoding", "gzip");
+
+    compressionFilter.doFilter(request, response, (req, res) -> {
+      res.setContentType("application/json");
+      res.getOutputStream().write(("{\"value\":\"" + "i".repeat(4096) + "\"}").getBytes(StandardCharsets.UTF_8));
+      res.resetBuffer();
+      res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+    });
+
+    assertEquals("identity", response.getHeader("Content-Encoding"));
+    assertEquals("{}", response.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("GIVEN min-response-size larger than buffer-size WHEN the filter is created THEN it should fail fast")
+  void constructor_ThresholdAboveBufferSize_ShouldThrow() {
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.getCompression().setMinResponseSize(16_384);
+    serverConfig.getCompression().setBufferSize(8192);
+
+    assertThrows(IllegalStateException.class, () -> new CompressionFilter(serverConfig, meterRegistry));
+  }
+
+  @Test
+  @DisplayName("GIVEN client accepts only deflate WHEN filtered THEN response should be deflate encoded")
+  void doFilter_DeflateOnly_ShouldUseDeflate() throws Exception {
+    String body = "x".repeat(4096);
+    request.addHeader("Accept-Encoding", "gzip;q=0, deflate");
+
+    compressionFilter.doFilter(request, response, writing(body, "text/plain"));
+
+    assertEquals("deflate", response.getHeader("Content-Encoding"));
+    try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+      assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  @DisplayName("GIVEN body below minimum size WHEN filtered THEN response should be sent uncompressed")
+  void doFilter_SmallBody_ShouldNotCompress() throws Exception {
+    request.addHeader("Accept-Encoding", "gzip");
+
+    compressionFilter.doFilter(request, response, writing("small", "application/json"));
+
+    assertNull(response.getHeader("Content-Encoding"));
+    assertEquals("small", response.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("GIVEN content type outside the allowlist WHEN filtered THEN response should be sent uncompressed")
+  void doFilter_DisallowedContentType_ShouldNotCompress() throws Exception {
+    String body = "b".repeat(4096);
+    request.addHeader("Accept-Encoding", "gzip");
+
+    compressionFilter.doFilter(request, response, writing(body, "image/png"));
+
+    assertNull(response.getHeader("Content-Encoding"));
+    assertEquals(body, response.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("GIVEN no Accept-Encoding header WHEN filtered THEN response should be sent uncompressed")
+  void doFilter_NoAcceptEncoding_ShouldNotCompress() throws Exception {
+    String body = "c".repeat(4096);
+
+    compressionFilter.doFilter(request, response, writing(body, "application/json"));
+
+    assertNull(response.getHeader("Content-Encoding"));
+    assertEquals(body, response.getContentAsString());
+  }
+
+  private FilterChain writing(String body, String contentType) {
+    return (req, res) -> {
+      byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+      res.setContentType(contentType);
+      res.setContentLength(bytes.length);
+      res.getOutputStream().write(bytes);
+      res.getOutputStream().flush();
+    };
+  }
+}
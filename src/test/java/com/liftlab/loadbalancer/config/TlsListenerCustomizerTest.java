@@ -0,0 +1,56 @@
+package com.liftlab.loadbalancer.config;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.tomcat.util.net.SSLHostConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Ssl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TlsListenerCustomizerTest {
+
+  private ServerConfig serverConfig;
+  private TomcatServletWebServerFactory factory;
+
+  @BeforeEach
+  void setUp() {
+    serverConfig = new ServerConfig();
+    serverConfig.getTls().setListenerSessionCacheSize(512);
+    serverConfig.getTls().setListenerSessionTimeoutSeconds(600);
+    factory = new TomcatServletWebServerFactory();
+  }
+
+  @Test
+  @DisplayName("GIVEN server.ssl enabled WHEN the factory is customized THEN every SSL host config should get the configured session cache")
+  void customize_WithSslEnabled_ShouldSizeSessionCache() {
+    Ssl ssl = new Ssl();
+    ssl.setEnabled(true);
+    factory.setSsl(ssl);
+
+    new TlsListenerCustomizer(serverConfig).customize(factory);
+
+    Connector connector = new Connector();
+    SSLHostConfig sslHostConfig = new SSLHostConfig();
+    connector.addSslHostConfig(sslHostConfig);
+    factory.getTomcatConnectorCustomizers().forEach(customizer -> customizer.customize(connector));
+
+    assertEquals(512, sslHostConfig.getSessionCacheSize());
+    assertEquals(600, sslHostConfig.getSessionTimeout());
+  }
+
+  @Test
+  @DisplayName("GIVEN server.ssl absent or disabled WHEN the factory is customized THEN no connector customizer should be added")
+  void customize_WithoutSsl_ShouldDoNothing() {
+    new TlsListenerCustomizer(serverConfig).customize(factory);
+
+    Ssl disabled = new Ssl();
+    disabled.setEnabled(false);
+    factory.setSsl(disabled);
+    new TlsListenerCustomizer(serverConfig).customize(factory);
+
+    assertTrue(factory.getTomcatConnectorCustomizers().isEmpty());
+  }
+}
@@ -1,6 +1,11 @@
 package com.liftlab.loadbalancer.controller;
 
+import com.liftlab.loadbalancer.accesslog.AccessLogger;
+import com.liftlab.loadbalancer.admission.AdmissionQueue;
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException;
+import com.liftlab.loadbalancer.admission.Deadline;
 import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.service.ForwardedResponse;
 import com.liftlab.loadbalancer.service.LoadBalancerService;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
@@ -27,6 +32,12 @@ class LoadBalancerControllerTest {
   @Mock
   private LoadBalancerService loadBalancerService;
 
+  @Mock
+  private AccessLogger accessLogger;
+
+  @Mock
+  private AdmissionQueue admissionQueue;
+
   @Mock
   private HttpServletRequest request;
 
@@ -34,8 +45,11 @@ class LoadBalancerControllerTest {
   private LoadBalancerController loadBalancerController;
 
   @BeforeEach
-  void setUp() {
-    reset(loadBalancerService, request);
+  void setUp() throws Exception {
+    reset(loadBalancerService, accessLogger, admissionQueue, request);
+    lenient().when(admissionQueue.deadlineOf(any())).thenReturn(Deadline.NONE);
+    lenient().when(admissionQueue.acquire(any(), any())).thenReturn(() -> {
+    });
   }
 
   @Test
@@ -43,13 +57,14 @@ class LoadBalancerControllerTest {
   void handleRequest_GetRequest_ShouldForwardSuccessfully() throws Exception {
     when(request.getMethod()).thenReturn("GET");
     when(request.getRequestURI()).thenReturn("/api/test");
-    when(loadBalancerService.forwardRequest(any())).thenReturn("Success response");
+    when(loadBalancerService.forward(any(), any())).thenReturn(successResponse());
 
     ResponseEntity<String> response = loadBalancerController.handleRequest(request);
 
     assertEquals(200, response.getStatusCode().value());
     assertEquals("Success response", response.getBody());
-    verify(loadBalancerService).forwardRequest(any(HttpGet.class));
+    verify(loadBalancerService).forward(any(HttpGet.class), eq(Deadline.NONE));
+    verify(accessLogger).log(eq(request), eq(200), any(ForwardedResponse.class), anyLong());
   }
 
   @Test
@@ -57,13 +72,28 @@ class LoadBalancerControllerTest {
   void handleRequest_PostRequest_ShouldForwardSuccessfully() throws Exception {
     when(request.getMethod()).thenReturn("POST");
     when(request.getRequestURI()).thenReturn("/api/test");
-    when(loadBalancerService.forwardRequest(any())).thenReturn("Success response");
+    when(loadBalancerService.forward(any(), any())).thenReturn(successResponse());
 
     ResponseEntity<String> response = loadBalancerController.handleRequest(request);
 
     assertEquals(200, response.getStatusCode().value());
     assertEquals("Success response", response.getBody());
-    verify(loadBalancerService).forwardRequest(any(HttpPost.class));
+    verify(loadBalancerService).forward(any(HttpPost.class), eq(Deadline.NONE));
+  }
+
+  @Test
+  @DisplayName("GIVEN backend answers 502 WHEN handleRequest called THEN the client and the access log should see 502")
+  void handleRequest_UpstreamError_ShouldRelayStatus() throws Exception {
+    when(request.getMethod()).thenReturn("GET");
+    when(request.getRequestURI()).thenReturn("/api/test");
+    when(loadBalancerService.forward(any(), any()))
+            .thenReturn(new ForwardedResponse(502, "bad gateway", "http://server1", 11, 1_000));
+
+    ResponseEntity<String> response = loadBalancerController.handleRequest(request);
+
+    assertEquals(502, response.getStatusCode().value());
+    assertEquals("bad gateway", response.getBody());
+    verify(accessLogger).log(eq(request), eq(502), any(ForwardedResponse.class), anyLong());
   }
 
   @Test
@@ -71,12 +101,26 @@ class LoadBalancerControllerTest {
   void handleRequest_Error_ShouldReturn500() throws Exception {
     when(request.getMethod()).thenReturn("GET");
     when(request.getRequestURI()).thenReturn("/api/test");
-    when(loadBalancerService.forwardRequest(any())).thenThrow(new RuntimeException("Test error"));
+    when(loadBalancerService.forward(any(), any())).thenThrow(new RuntimeException("Test error"));
 
     ResponseEntity<String> response = loadBalancerController.handleRequest(request);
 
     assertEquals(500, response.getStatusCode().value());
     assertTrue(response.getBody().contains("Error processing request"));
+    verify(accessLogger).log(eq(request), eq(500), isNull(), anyLong());
+  }
+
+  @Test
+  @DisplayName("GIVEN admission rejects the request WHEN handleRequest called THEN it should return the rejection status without forwarding")
+  void handleRequest_AdmissionRejected_ShouldNotForward() throws Exception {
+    when(admissionQueue.acquire(any(), any())).thenThrow(new AdmissionRejectedException(
+            AdmissionRejectedException.Reason.DEADLINE_EXPIRED, "Request deadline expired before forwarding"));
+
+    ResponseEntity<String> response = loadBalancerController.handleRequest(request);
+
+    assertEquals(504, response.getStatusCode().value());
+    verify(loadBalancerService, never()).forward(any(), any());
+    verify(accessLogger).log(eq(request), eq(504), isNull(), anyLong());
   }
 
   @Test
@@ -149,4 +193,8 @@ class LoadBalancerControllerTest {
     assertEquals("Server marked as healthy: " + serverUrl, response.getBody());
     verify(loadBalancerService).markServerHealthy(serverUrl);
   }
-}
\ No newline at end of file
+
+  private ForwardedResponse successResponse() {
+    return new ForwardedResponse(200, "Success response", "http://server1", 16, 1_000);
+  }
+}
@@ -0,0 +1,85 @@
+package com.liftlab.loadbalancer.event;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HealthEventBusTest {
+
+  private HealthEventBus healthEventBus;
+
+  @AfterEach
+  void tearDown() throws Exception {
+    healthEventBus.stop();
+  }
+
+  @Test
+  @DisplayName("GIVEN started bus WHEN events are published THEN every listener should receive them in order")
+  void publish_ShouldDeliverEventsToListenersInOrder() throws Exception {
+    List<String> received = new CopyOnWriteArrayList<>();
+    CountDownLatch delivered = new CountDownLatch(4);
+    HealthEventListener first = event -> {
+      received.add(event.serverUrl());
+      delivered.countDown();
+    };
+    HealthEventListener second = event -> delivered.countDown();
+    healthEventBus = new HealthEventBus(new ServerConfig(), List.of(first, second));
+    healthEventBus.start();
+
+    healthEventBus.publish(event("http://server1", false));
+    healthEventBus.publish(event("http://server2", true));
+
+    assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of("http://server1", "http://server2"), received);
+  }
+
+  @Test
+  @DisplayName("GIVEN a slow listener and full buffer WHEN events are published THEN publish should drop instead of blocking")
+  void publish_WhenBufferFull_ShouldDropWithoutBlocking() throws Exception {
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.getHealthCheck().setEventBufferSize(2);
+    CountDownLatch release = new CountDownLatch(1);
+    healthEventBus = new HealthEventBus(serverConfig, List.of(event -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }));
+    healthEventBus.start();
+
+    for (int i = 0; i < 10; i++) {
+      healthEventBus.publish(event("http://server" + i, false));
+    }
+
+    assertTrue(healthEventBus.getDroppedEvents() > 0);
+    release.countDown();
+  }
+
+  @Test
+  @DisplayName("GIVEN a failing listener WHEN an event is published THEN other listeners should still receive it")
+  void publish_WhenListenerThrows_ShouldContinueDispatching() throws Exception {
+    CountDownLatch delivered = new CountDownLatch(1);
+    HealthEventListener failing = event -> {
+      throw new IllegalStateException("listener failure");
+    };
+    healthEventBus = new HealthEventBus(new ServerConfig(), List.of(failing, event -> delivered.countDown()));
+    healthEventBus.start();
+
+    healthEventBus.publish(event("http://server1", true));
+
+    assertTrue(delivered.await(5, TimeUnit.SECONDS));
+  }
+
+  private HealthTransitionEvent event(String url, boolean healthy) {
+    return new HealthTransitionEvent(url, healthy, HealthTransitionEvent.Cause.PROBE, System.currentTimeMillis());
+  }
+}
@@ -0,0 +1,203 @@
+package com.liftlab.loadbalancer.loadtest;
+
+import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.service.LoadBalancerService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the full {@code /api/**} controller path of a running balancer at a fixed open-loop rate
+ * against in-process stub backends, for every algorithm and health scenario. Subclasses pick the
+ * upstream engine. Tagged {@code loadtest}, so it only runs with {@code mvn test -Ploadtest}.
+ *
+ * <p>Before the first scenario each engine is warmed up by ramping the rate up in steps, so the JIT
+ * compiles the hot path before it faces full load, then running full-rate windows until one meets the
+ * latency gate. Warm-up results are discarded.
+ *
+ * <p>Tunable with system properties: {@code loadtest.rate} (requests/s), {@code loadtest.durationSeconds},
+ * {@code loadtest.warmupSeconds} (length of the ramp), {@code loadtest.maxWarmupWindows},
+ * and the release gates {@code loadtest.maxP99Millis}, {@code loadtest.maxErrorRate} and
+ * {@code loadtest.maxFailoverErrorRate}. Results are appended to {@code target/loadtest/report.txt}.
+ */
+@Tag("loadtest")
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public abstract class AbstractBalancerLoadTest {
+  private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+  private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 10));
+  private static final int WARMUP_STEPS = 5;
+  private static final Duration WARMUP_STEP =
+          Duration.ofSeconds(Math.max(1, Integer.getInteger("loadtest.warmupSeconds", 20) / WARMUP_STEPS));
+  private static final Duration WARMUP_WINDOW = Duration.ofSeconds(2);
+  private static final int MAX_WARMUP_WINDOWS = Integer.getInteger("loadtest.maxWarmupWindows", 10);
+  private static final double MAX_P99_MILLIS = Double.parseDouble(System.getProperty("loadtest.maxP99Millis", "500"));
+  private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01"));
+  private static final double MAX_FAILOVER_ERROR_RATE =
+          Double.parseDouble(System.getProperty("loadtest.maxFailoverErrorRate", "0.2"));
+  private static final Path REPORT = Path.of("target", "loadtest", "report.txt");
+
+  private static final List<StubBackend> BACKENDS = List.of(
+          new StubBackend(LatencyDistribution.logNormal(5, 0.5), 0, 0, 0),
+          new StubBackend(LatencyDistribution.logNormal(5, 0.5), 0.01, 0, 0),
+          new StubBackend(LatencyDistribution.uniform(2, 10), 0, 0.005, 200));
+
+  private static boolean backendsStarted;
+
+  private static final HttpClient CLIENT = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+
+  @Autowired
+  private LoadBalancerService loadBalancerService;
+
+  @LocalServerPort
+  private int port;
+
+  @DynamicPropertySource
+  static void backendProperties(DynamicPropertyRegistry registry) throws Exception {
+    startBackends();
+    for (int i = 0; i < BACKENDS.size(); i++) {
+      registry.add("loadbalancer.servers[" + i + "].url", BACKENDS.get(i)::getUrl);
+    }
+    registry.add("loadbalancer.health-check.interval-seconds", () -> 1);
+    registry.add("loadbalancer.health-check.timeout-seconds", () -> 1);
+    registry.add("loadbalancer.health-check.max-failures", () -> 1);
+    registry.add("loadbalancer.health-check.success-threshold", () -> 1);
+    registry.add("loadbalancer.snapshot.enabled", () -> false);
+    registry.add("loadbalancer.access-log.enabled", () -> false);
+  }
+
+  private static synchronized void startBackends() throws Exception {
+    if (!backendsStarted) {
+      for (StubBackend backend : BACKENDS) {
+        backend.start();
+      }
+      backendsStarted = true;
+    }
+  }
+
+  // Each engine has its own application context, so this runs once per engine before any scenario
+  @BeforeAll
+  static void warmUp(@LocalServerPort int port) {
+    for (int step = 1; step <= WARMUP_STEPS; step++) {
+      new OpenLoopLoadGenerator(Math.max(1, RATE * step / WARMUP_STEPS), WARMUP_STEP)
+              .run("warm-up", () -> sendRequest(port), null);
+    }
+    for (int window = 1; ; window++) {
+      LoadTestResult result = new OpenLoopLoadGenerator(RATE, WARMUP_WINDOW)
+              .run("warm-up window " + window, () -> sendRequest(port), null);
+      if (result.percentileMillis(99) <= MAX_P99_MILLIS) {
+        return;
+      }
+      assertTrue(window < MAX_WARMUP_WINDOWS, "balancer did not settle during warm-up: " + result.summary());
+    }
+  }
+
+  protected abstract String engine();
+
+  @BeforeEach
+  void resetBackends() throws Exception {
+    for (StubBackend backend : BACKENDS) {
+      backend.start();
+      loadBalancerService.markServerHealthy(backend.getUrl());
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"round-robin", "random"})
+  @DisplayName("GIVEN all backends healthy WHEN driven at a fixed rate THEN latency and errors should stay within release gates")
+  void steadyState(String algorithm) throws IOException {
+    loadBalancerService.setAlgorithm(algorithm);
+
+    LoadTestResult result = generator().run(scenario(algorithm, "steady"), this::sendRequest, null);
+
+    report(result);
+    assertTrue(result.errorRate() <= MAX_ERROR_RATE, result.summary());
+    assertTrue(result.percentileMillis(99) <= MAX_P99_MILLIS, result.summary());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"round-robin", "random"})
+  @DisplayName("GIVEN one backend dies mid-run WHEN driven at a fixed rate THEN the balancer should fail over within release gates")
+  void backendDiesMidRun(String algorithm) throws Exception {
+    loadBalancerService.setAlgorithm(algorithm);
+    StubBackend victim = BACKENDS.getFirst();
+
+    LoadTestResult result = generator().run(scenario(algorithm, "backend-dies"), this::sendRequest, () -> {
+      try {
+        victim.stop();
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    report(result);
+    assertFalse(serverFor(victim).isHealthy(), "dead backend should have been marked unhealthy");
+    assertTrue(result.errorRate() <= MAX_FAILOVER_ERROR_RATE, result.summary());
+  }
+
+  private OpenLoopLoadGenerator generator() {
+    return new OpenLoopLoadGenerator(RATE, DURATION);
+  }
+
+  private int sendRequest() {
+    return sendRequest(port);
+  }
+
+  private static int sendRequest(int port) {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+            .timeout(Duration.ofSeconds(10))
+            .GET()
+            .build();
+    try {
+      return CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    } catch (IOException e) {
+      return -1;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return -1;
+    }
+  }
+
+  private Server serverFor(StubBackend backend) {
+    return loadBalancerService.getRegisteredServers().stream()
+            .filter(server -> server.getUrl().equals(backend.getUrl()))
+            .findFirst()
+            .orElseThrow();
+  }
+
+  private String scenario(String algorithm, String health) {
+    return engine() + "/" + algorithm + "/" + health + " @" + RATE + "rps";
+  }
+
+  private static synchronized void report(LoadTestResult result) throws IOException {
+    log.info(result.summary());
+    Files.createDirectories(REPORT.getParent());
+    Files.writeString(REPORT, result.summary() + System.lineSeparator(),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+}
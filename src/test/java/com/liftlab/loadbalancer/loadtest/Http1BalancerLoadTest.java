@@ -0,0 +1,12 @@
+package com.liftlab.loadbalancer.loadtest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "loadbalancer.upstream.protocol=http1")
+public class Http1BalancerLoadTest extends AbstractBalancerLoadTest {
+
+  @Override
+  protected String engine() {
+    return "http1";
+  }
+}
@@ -0,0 +1,12 @@
+package com.liftlab.loadbalancer.loadtest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "loadbalancer.upstream.protocol=h2")
+public class Http2BalancerLoadTest extends AbstractBalancerLoadTest {
+
+  @Override
+  protected String engine() {
+    return "h2";
+  }
+}
@@ -0,0 +1,29 @@
+package com.liftlab.loadbalancer.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service time of a stub backend, sampled per request.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+  long sampleNanos();
+
+  static LatencyDistribution fixed(long millis) {
+    long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    return () -> nanos;
+  }
+
+  static LatencyDistribution uniform(long minMillis, long maxMillis) {
+    long min = TimeUnit.MILLISECONDS.toNanos(minMillis);
+    long max = TimeUnit.MILLISECONDS.toNanos(maxMillis);
+    return () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+  }
+
+  // Long-tailed: the median is medianMillis and sigma controls how heavy the tail is
+  static LatencyDistribution logNormal(double medianMillis, double sigma) {
+    double mu = Math.log(TimeUnit.MILLISECONDS.toNanos(1) * medianMillis);
+    return () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+  }
+}
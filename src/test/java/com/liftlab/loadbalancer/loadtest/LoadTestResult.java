@@ -0,0 +1,26 @@
+package com.liftlab.loadbalancer.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+public record LoadTestResult(String scenario, long requests, long errors, long elapsedNanos, Histogram latency) {
+
+  public double throughput() {
+    return requests / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+  }
+
+  public double errorRate() {
+    return requests == 0 ? 0 : errors / (double) requests;
+  }
+
+  public double percentileMillis(double percentile) {
+    return latency.getValueAtPercentile(percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public String summary() {
+    return String.format("%-40s %8d req %8.1f req/s  errors %6.2f%%  p50 %8.2f ms  p99 %8.2f ms  p999 %8.2f ms  max %8.2f ms",
+            scenario, requests, throughput(), errorRate() * 100,
+            percentileMillis(50), percentileMillis(99), percentileMillis(99.9), percentileMillis(100));
+  }
+}
@@ -0,0 +1,63 @@
+package com.liftlab.loadbalancer.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * Fires requests on a fixed schedule regardless of how long earlier requests take. Each request
+ * runs on its own virtual thread and its latency is measured from the time it was scheduled to
+ * start, not from when it was actually sent, so a stalled balancer shows up in the percentiles
+ * instead of silently lowering the offered load (coordinated omission).
+ */
+public class OpenLoopLoadGenerator {
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final int requestsPerSecond;
+  private final Duration duration;
+
+  public OpenLoopLoadGenerator(int requestsPerSecond, Duration duration) {
+    this.requestsPerSecond = requestsPerSecond;
+    this.duration = duration;
+  }
+
+  /**
+   * @param request   issues one request and returns its HTTP status, or a negative value on I/O failure
+   * @param midRun    optional action run once halfway through, e.g. killing a backend
+   */
+  public LoadTestResult run(String scenario, IntSupplier request, Runnable midRun) {
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+    long totalRequests = requestsPerSecond * duration.toSeconds();
+    Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    AtomicLong errors = new AtomicLong();
+
+    long start = System.nanoTime();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; i < totalRequests; i++) {
+        long intendedStart = start + i * intervalNanos;
+        long wait = intendedStart - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        if (midRun != null && i == totalRequests / 2) {
+          executor.execute(midRun);
+        }
+        executor.execute(() -> {
+          int status = request.getAsInt();
+          histogram.recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS));
+          if (status != 200) {
+            errors.incrementAndGet();
+          }
+        });
+      }
+    }
+    return new LoadTestResult(scenario, totalRequests, errors.get(), System.nanoTime() - start, histogram);
+  }
+}
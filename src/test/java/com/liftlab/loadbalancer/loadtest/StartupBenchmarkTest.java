@@ -0,0 +1,175 @@
+package com.liftlab.loadbalancer.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures time-to-first-proxied-request: the wall time from launching the packaged balancer in a
+ * fresh JVM until {@code /api/**} returns a response relayed from a stub backend. Launches of the plain
+ * jar and of the fast-startup build (extracted jar with its CDS archive, Spring AOT and lazy
+ * initialisation) are interleaved in one run, so both variants see the same machine load. Skipped unless
+ * {@code mvn package -Pfast-startup} has produced both.
+ *
+ * <p>Tunable with system properties: {@code startup.runs} (launches per variant), {@code startup.maxRatio}
+ * (fast-startup median over plain median) and {@code startup.maxMillis} (absolute gate on the fast-startup
+ * median, sized for a single-core CI runner). Results are appended to {@code target/loadtest/startup.txt}.
+ */
+@Tag("loadtest")
+@Slf4j
+public class StartupBenchmarkTest {
+  private static final int RUNS = Integer.getInteger("startup.runs", 5);
+  private static final double MAX_RATIO = Double.parseDouble(System.getProperty("startup.maxRatio", "0.9"));
+  private static final long MAX_MILLIS = Long.getLong("startup.maxMillis", 12_000);
+  private static final Duration LAUNCH_TIMEOUT = Duration.ofSeconds(60);
+  private static final Path TARGET = Path.of("target");
+  private static final Path FAST_STARTUP_DIR = TARGET.resolve("fast-startup");
+  private static final Path REPORT = TARGET.resolve("loadtest").resolve("startup.txt");
+
+  private static final StubBackend BACKEND = new StubBackend(LatencyDistribution.uniform(1, 2), 0, 0, 0);
+
+  private final HttpClient client = HttpClient.newBuilder()
+          .connectTimeout(Duration.ofMillis(200))
+          .build();
+
+  @BeforeAll
+  static void startBackend() throws Exception {
+    BACKEND.start();
+  }
+
+  @AfterAll
+  static void stopBackend() throws Exception {
+    BACKEND.stop();
+  }
+
+  @Test
+  @DisplayName("GIVEN the plain jar and the fast-startup build WHEN each is launched in fresh JVMs THEN fast-startup should reach the first proxied request sooner and within the startup gate")
+  void fastStartupBeatsPlainJar() throws Exception {
+    Optional<Path> plainJar = packagedJar(TARGET);
+    Optional<Path> fastJar = packagedJar(FAST_STARTUP_DIR);
+    Path archive = FAST_STARTUP_DIR.resolve("application.jsa");
+    assumeTrue(plainJar.isPresent() && fastJar.isPresent() && Files.exists(archive),
+            "no fast-startup build, run mvn package -Pfast-startup first");
+    List<String> fastJvmArgs = List.of(
+            "-XX:SharedArchiveFile=" + archive,
+            "-Xlog:cds=error",
+            "-Dspring.aot.enabled=true",
+            "-Dspring.profiles.active=fast-startup");
+
+    long[] plain = new long[RUNS];
+    long[] fast = new long[RUNS];
+    for (int i = 0; i < RUNS; i++) {
+      plain[i] = timeToFirstProxiedRequest("plain", plainJar.get(), List.of());
+      fast[i] = timeToFirstProxiedRequest("fast-startup", fastJar.get(), fastJvmArgs);
+    }
+    long plainMedian = summarize("plain", plain);
+    long fastMedian = summarize("fast-startup", fast);
+    double ratio = (double) fastMedian / plainMedian;
+    String comparison = String.format("startup/fast-startup vs plain median ratio=%.2f (max %.2f), gate %dms",
+            ratio, MAX_RATIO, MAX_MILLIS);
+    report(comparison);
+
+    assertAll(
+            () -> assertTrue(ratio <= MAX_RATIO, comparison),
+            () -> assertTrue(fastMedian <= MAX_MILLIS, comparison));
+  }
+
+  private static long summarize(String variant, long[] millis) throws IOException {
+    Arrays.sort(millis);
+    long median = millis[RUNS / 2];
+    report(String.format("startup/%s runs=%d time-to-first-proxied-request min=%dms median=%dms max=%dms",
+            variant, RUNS, millis[0], median, millis[RUNS - 1]));
+    return median;
+  }
+
+  private long timeToFirstProxiedRequest(String variant, Path jar, List<String> jvmArgs) throws Exception {
+    int port = freePort();
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmArgs);
+    command.addAll(List.of("-jar", jar.toString(),
+            "--server.port=" + port,
+            "--loadbalancer.servers[0].url=" + BACKEND.getUrl(),
+            "--loadbalancer.snapshot.enabled=false",
+            "--loadbalancer.access-log.enabled=false",
+            "--loadbalancer.tcp.enabled=false"));
+    Path log = REPORT.resolveSibling("startup-" + variant + ".log");
+    Files.createDirectories(log.getParent());
+
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+            .timeout(Duration.ofSeconds(5))
+            .GET()
+            .build();
+    long start = System.nanoTime();
+    Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+    try {
+      long deadline = start + LAUNCH_TIMEOUT.toNanos();
+      while (System.nanoTime() < deadline) {
+        assertTrue(process.isAlive(), "balancer exited during startup, see " + log);
+        try {
+          HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+          if (response.statusCode() == 200 && response.body().contains("stub")) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+          }
+        } catch (IOException e) {
+          // Not listening yet
+        }
+        Thread.sleep(5);
+      }
+      return fail("no proxied response within " + LAUNCH_TIMEOUT + ", see " + log);
+    } finally {
+      process.destroy();
+      if (!process.waitFor(10, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+      }
+    }
+  }
+
+  private static Optional<Path> packagedJar(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return Optional.empty();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(path -> path.getFileName().toString().endsWith(".jar")).findFirst();
+    }
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static synchronized void report(String summary) throws IOException {
+    log.info(summary);
+    Files.createDirectories(REPORT.getParent());
+    Files.writeString(REPORT, summary + System.lineSeparator(),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+}
@@ -0,0 +1,96 @@
+package com.liftlab.loadbalancer.loadtest;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process backend for load tests, built on embedded Tomcat so it speaks both HTTP/1.1 and
+ * h2c with prior knowledge. {@code /health} always answers 200 while the stub is up; every other
+ * path sleeps for a sampled latency, occasionally stalls, and fails at the configured error rate.
+ */
+public class StubBackend {
+  private static final byte[] BODY = "{\"status\":\"ok\",\"source\":\"stub\"}".getBytes(StandardCharsets.UTF_8);
+
+  private final LatencyDistribution latency;
+  private final double errorRate;
+  private final double stallRate;
+  private final long stallMillis;
+  private Tomcat tomcat;
+  private int port;
+  private boolean running;
+
+  public StubBackend(LatencyDistribution latency, double errorRate, double stallRate, long stallMillis) {
+    this.latency = latency;
+    this.errorRate = errorRate;
+    this.stallRate = stallRate;
+    this.stallMillis = stallMillis;
+  }
+
+  // Restarting a stopped stub reuses its original port, so the balancer config stays valid
+  public synchronized void start() throws LifecycleException, IOException {
+    if (running) {
+      return;
+    }
+    tomcat = new Tomcat();
+    tomcat.setBaseDir(Files.createTempDirectory("stub-backend").toString());
+    Connector connector = new Connector();
+    connector.setPort(port);
+    connector.setProperty("maxThreads", "400");
+    connector.addUpgradeProtocol(new Http2Protocol());
+    tomcat.setConnector(connector);
+
+    Context context = tomcat.addContext("", null);
+    Tomcat.addServlet(context, "stub", new StubServlet());
+    context.addServletMappingDecoded("/*", "stub");
+    tomcat.start();
+    port = connector.getLocalPort();
+    running = true;
+  }
+
+  public synchronized void stop() throws LifecycleException {
+    if (!running) {
+      return;
+    }
+    tomcat.stop();
+    tomcat.destroy();
+    running = false;
+  }
+
+  public String getUrl() {
+    return "http://localhost:" + port;
+  }
+
+  private class StubServlet extends HttpServlet {
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+      if (!request.getRequestURI().equals("/health")) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long sleepNanos = latency.sampleNanos();
+        if (random.nextDouble() < stallRate) {
+          sleepNanos += TimeUnit.MILLISECONDS.toNanos(stallMillis);
+        }
+        LockSupport.parkNanos(sleepNanos);
+        if (random.nextDouble() < errorRate) {
+          response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+          return;
+        }
+      }
+      response.setContentType("application/json");
+      response.setContentLength(BODY.length);
+      response.getOutputStream().write(BODY);
+    }
+  }
+}
@@ -3,6 +3,8 @@ package com.liftlab.loadbalancer.service;
 import com.liftlab.loadbalancer.config.ServerConfig;
 import com.liftlab.loadbalancer.config.ServerConfig.Server;
 import com.liftlab.loadbalancer.config.ServerConfig.HealthCheck;
+import com.liftlab.loadbalancer.event.HealthEventBus;
+import com.liftlab.loadbalancer.event.HealthTransitionEvent;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.core5.http.ClassicHttpResponse;
@@ -25,7 +27,7 @@ public class HealthCheckServiceTest {
 
   @Mock private ServerConfig serverConfig;
   @Mock private HealthCheck healthCheckConfig;
-  @Mock private LoadBalancerService loadBalancerService;
+  @Mock private HealthEventBus healthEventBus;
   @Mock private CloseableHttpClient httpClient;
 
   private HealthCheckService healthCheckService;
@@ -38,19 +40,18 @@ public class HealthCheckServiceTest {
     testServer.setHealthy(true);
     testServer.setConsecutiveFailures(0);
 
-    when(healthCheckConfig.getTimeoutSeconds()).thenReturn(5);
     when(healthCheckConfig.getPath()).thenReturn("/health");
-    when(healthCheckConfig.getSuccessThreshold()).thenReturn(3);
-    when(healthCheckConfig.getMaxFailures()).thenReturn(2);
+    lenient().when(healthCheckConfig.getSuccessThreshold()).thenReturn(3);
+    lenient().when(healthCheckConfig.getMaxFailures()).thenReturn(2);
     when(serverConfig.getHealthCheck()).thenReturn(healthCheckConfig);
     when(serverConfig.getServers()).thenReturn(List.of(testServer));
 
-    healthCheckService = new HealthCheckService(serverConfig, loadBalancerService);
+    healthCheckService = new HealthCheckService(serverConfig, healthEventBus, httpClient);
   }
 
 
   @Test
-  @DisplayName("GIVEN server is unhealthy and response is 200 WHEN checkServersHealth is called THEN server should be marked healthy and failures reset")
+  @DisplayName("GIVEN unhealthy server one success short of threshold and response is 200 WHEN checkServersHealth is called THEN server should recover and failures reset")
   void checkServersHealth_shouldHandleHealthyResponse() throws Exception {
     ClassicHttpResponse mockResponse = mock(ClassicHttpResponse.class);
     when(mockResponse.getCode()).thenReturn(200);
@@ -63,11 +64,36 @@ public class HealthCheckServiceTest {
 
     testServer.setHealthy(false);
     testServer.setConsecutiveFailures(3);
+    testServer.setConsecutiveSuccesses(2);
 
     healthCheckService.checkServersHealth();
 
-    verify(loadBalancerService).markServerHealthy(testServer.getUrl());
+    assertThat(testServer.isHealthy()).isTrue();
     assertThat(testServer.getConsecutiveFailures()).isEqualTo(0);
+    verify(healthEventBus).publish(argThat(event -> event.healthy()
+            && event.cause() == HealthTransitionEvent.Cause.PROBE));
+  }
+
+  @Test
+  @DisplayName("GIVEN unhealthy server below success threshold and response is 200 WHEN checkServersHealth is called THEN server should stay unhealthy and successes increment")
+  void checkServersHealth_belowSuccessThreshold_shouldNotRecover() throws Exception {
+    ClassicHttpResponse mockResponse = mock(ClassicHttpResponse.class);
+    when(mockResponse.getCode()).thenReturn(200);
+
+    when(httpClient.execute(any(HttpGet.class), any(HttpClientResponseHandler.class)))
+            .then(invocation -> {
+              HttpClientResponseHandler<Boolean> handler = invocation.getArgument(1);
+              return handler.handleResponse(mockResponse);
+            });
+
+    testServer.setHealthy(false);
+    testServer.setConsecutiveFailures(3);
+
+    healthCheckService.checkServersHealth();
+
+    assertThat(testServer.isHealthy()).isFalse();
+    assertThat(testServer.getConsecutiveSuccesses()).isEqualTo(1);
+    verifyNoInteractions(healthEventBus);
   }
 
   @Test
@@ -87,8 +113,9 @@ public class HealthCheckServiceTest {
 
     healthCheckService.checkServersHealth();
 
-    verify(loadBalancerService).markServerUnhealthy(testServer.getUrl());
+    assertThat(testServer.isHealthy()).isFalse();
     assertThat(testServer.getConsecutiveFailures()).isEqualTo(2);
+    verify(healthEventBus).publish(argThat(event -> !event.healthy()));
   }
 
   @Test
@@ -102,7 +129,8 @@ public class HealthCheckServiceTest {
 
     healthCheckService.checkServersHealth();
 
-    verify(loadBalancerService).markServerUnhealthy(testServer.getUrl());
+    assertThat(testServer.isHealthy()).isFalse();
     assertThat(testServer.getConsecutiveFailures()).isEqualTo(2);
+    verify(healthEventBus).publish(argThat(event -> !event.healthy()));
   }
 }
@@ -0,0 +1,94 @@
+package com.liftlab.loadbalancer.service;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HealthSnapshotServiceTest {
+
+  @Mock private HealthCheckService healthCheckService;
+
+  @TempDir
+  Path tempDir;
+
+  private ServerConfig serverConfig;
+  private HealthSnapshotService healthSnapshotService;
+
+  @BeforeEach
+  void setUp() {
+    serverConfig = new ServerConfig();
+    serverConfig.setServers(List.of(server("http://server1"), server("http://server2")));
+    serverConfig.getSnapshot().setEnabled(true);
+    serverConfig.getSnapshot().setPath(tempDir.resolve("snapshot.bin").toString());
+
+    healthSnapshotService = new HealthSnapshotService(serverConfig, healthCheckService);
+  }
+
+  @Test
+  @DisplayName("GIVEN persisted snapshot WHEN restore is called on fresh config THEN server health and counters should be restored")
+  void persistAndRestore_ShouldRoundTripServerState() {
+    serverConfig.getServers().get(1).setHealthy(false);
+    serverConfig.getServers().get(1).setConsecutiveFailures(4);
+    serverConfig.getServers().get(0).setConsecutiveSuccesses(2);
+    healthSnapshotService.persist();
+
+    serverConfig.setServers(List.of(server("http://server1"), server("http://server2")));
+    healthSnapshotService.restore();
+
+    assertTrue(serverConfig.getServers().get(0).isHealthy());
+    assertFalse(serverConfig.getServers().get(1).isHealthy());
+    assertEquals(4, serverConfig.getServers().get(1).getConsecutiveFailures());
+    assertEquals(2, serverConfig.getServers().get(0).getConsecutiveSuccesses());
+    assertFalse(Files.exists(tempDir.resolve("snapshot.bin.tmp")));
+  }
+
+  @Test
+  @DisplayName("GIVEN corrupt snapshot file WHEN restore is called THEN configured state should be kept")
+  void restore_WithCorruptFile_ShouldKeepConfiguredState() throws Exception {
+    Files.write(tempDir.resolve("snapshot.bin"), new byte[]{1, 2, 3});
+
+    healthSnapshotService.restore();
+
+    assertTrue(serverConfig.getServers().get(0).isHealthy());
+    assertTrue(serverConfig.getServers().get(1).isHealthy());
+  }
+
+  @Test
+  @DisplayName("GIVEN snapshot enabled WHEN warmUp is called THEN it should run a startup health sweep")
+  void warmUp_ShouldRunStartupHealthSweep() {
+    healthSnapshotService.warmUp();
+
+    verify(healthCheckService).checkServersHealth();
+  }
+
+  @Test
+  @DisplayName("GIVEN snapshot disabled WHEN warmUp is called THEN it should neither restore nor sweep")
+  void warmUp_WhenDisabled_ShouldDoNothing() {
+    serverConfig.getSnapshot().setEnabled(false);
+
+    healthSnapshotService.warmUp();
+
+    verifyNoInteractions(healthCheckService);
+  }
+
+  private Server server(String url) {
+    Server server = new Server();
+    server.setUrl(url);
+    server.setHealthy(true);
+    return server;
+  }
+}
@@ -0,0 +1,82 @@
+package com.liftlab.loadbalancer.service;
+
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException;
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException.Reason;
+import com.liftlab.loadbalancer.admission.Deadline;
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.tls.MeteredTlsStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLContext;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Http2UpstreamClientTest {
+
+  private ServerSocket silentBackend;
+  private Http2UpstreamClient client;
+  private Server server;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // Accepts connections but never answers, so a forwarded request holds its stream
+    silentBackend = new ServerSocket(0);
+    Thread.ofVirtual().start(() -> {
+      try {
+        while (!silentBackend.isClosed()) {
+          Socket ignored = silentBackend.accept();
+        }
+      } catch (Exception e) {
+        // Closed
+      }
+    });
+    server = new Server();
+    server.setUrl("http://localhost:" + silentBackend.getLocalPort());
+
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.getUpstream().setProtocol("h2");
+    serverConfig.getUpstream().setMaxConcurrentStreams(1);
+    client = new Http2UpstreamClient(serverConfig,
+            new MeteredTlsStrategy(SSLContext.getDefault(), new SimpleMeterRegistry()));
+    client.init();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    client.close();
+    silentBackend.close();
+  }
+
+  @Test
+  @DisplayName("GIVEN all streams to a server in use WHEN a request with a short deadline is executed THEN it should be rejected once the deadline passes")
+  void execute_WhenStreamsExhausted_ShouldRejectAtDeadline() throws Exception {
+    CompletableFuture<ForwardedResponse> holder = CompletableFuture.supplyAsync(() -> {
+      try {
+        return client.execute(server, new HttpGet(server.getUrl() + "/slow"), Deadline.NONE);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(200);
+    assertFalse(holder.isDone());
+
+    long start = System.nanoTime();
+    AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+            () -> client.execute(server, new HttpGet(server.getUrl() + "/fast"),
+                    new Deadline(System.currentTimeMillis() + 100)));
+    long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertEquals(Reason.DEADLINE_EXPIRED, e.getReason());
+    assertTrue(waitedMillis < 2_000, "waited " + waitedMillis + "ms for a stream");
+  }
+}
@@ -1,13 +1,20 @@
 package com.liftlab.loadbalancer.service;
 
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException;
+import com.liftlab.loadbalancer.admission.AdmissionRejectedException.Reason;
+import com.liftlab.loadbalancer.admission.Deadline;
 import com.liftlab.loadbalancer.algorithm.LoadBalancingAlgorithm;
 import com.liftlab.loadbalancer.config.ServerConfig;
 import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.event.HealthEventBus;
+import com.liftlab.loadbalancer.event.HealthTransitionEvent;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,9 +22,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +41,8 @@ public class LoadBalancerServiceTest {
   @Mock private LoadBalancingAlgorithm leastConnectionsAlgorithm;
   @Mock private CloseableHttpClient httpClient;
   @Mock private CloseableHttpResponse httpResponse;
+  @Mock private Http2UpstreamClient http2UpstreamClient;
+  @Mock private HealthEventBus healthEventBus;
 
   @InjectMocks
   private LoadBalancerService loadBalancerService;
@@ -57,7 +68,7 @@ public class LoadBalancerServiceTest {
     algorithms.put("round-robin", roundRobinAlgorithm);
     algorithms.put("least-connections", leastConnectionsAlgorithm);
 
-    loadBalancerService = new LoadBalancerService(serverConfig, algorithms);
+    loadBalancerService = new LoadBalancerService(serverConfig, algorithms, http2UpstreamClient, healthEventBus, httpClient);
 
     when(serverConfig.getAlgorithm()).thenReturn("round-robin");
     when(serverConfig.getServers()).thenReturn(mockServers);
@@ -100,16 +111,45 @@ public class LoadBalancerServiceTest {
     HttpUriRequest request = new HttpGet("/test");
     String expectedResponse = "Success response";
 
-    try (MockedStatic<HttpClients> httpClientsMock = mockStatic(HttpClients.class)) {
-      httpClientsMock.when(HttpClients::createDefault).thenReturn(httpClient);
-      when(httpClient.execute(any())).thenReturn(httpResponse);
-      when(httpResponse.getEntity()).thenReturn(new StringEntity(expectedResponse));
+    when(httpClient.execute(any(), any(HttpClientResponseHandler.class))).thenAnswer(handling(httpResponse));
+    when(httpResponse.getEntity()).thenReturn(new StringEntity(expectedResponse));
 
-      String response = loadBalancerService.forwardRequest(request);
+    String response = loadBalancerService.forwardRequest(request);
 
-      assertEquals(expectedResponse, response);
-      verify(httpClient).execute(any());
-    }
+    assertEquals(expectedResponse, response);
+    verify(httpClient).execute(any(), any(HttpClientResponseHandler.class));
+  }
+
+  @Test
+  @DisplayName("GIVEN non-ASCII body without Content-Length WHEN forward is called THEN bytes should count encoded bytes")
+  void forward_WithChunkedNonAsciiBody_ShouldCountBytes() throws Exception {
+    loadBalancerService.init();
+    String body = "{\"city\":\"Zürich\",\"currency\":\"€\"}";
+    byte[] encoded = body.getBytes(StandardCharsets.UTF_8);
+
+    when(httpClient.execute(any(), any(HttpClientResponseHandler.class))).thenAnswer(handling(httpResponse));
+    when(httpResponse.getEntity()).thenReturn(
+            new InputStreamEntity(new ByteArrayInputStream(encoded), -1, ContentType.APPLICATION_JSON));
+
+    ForwardedResponse response = loadBalancerService.forward(new HttpGet("/test"));
+
+    assertEquals(body, response.body());
+    assertEquals(encoded.length, response.bytes());
+  }
+
+  @Test
+  @DisplayName("GIVEN backend answers with an error status WHEN forward is called THEN the upstream status should be kept")
+  void forward_WithUpstreamErrorStatus_ShouldKeepStatus() throws Exception {
+    loadBalancerService.init();
+
+    when(httpClient.execute(any(), any(HttpClientResponseHandler.class))).thenAnswer(handling(httpResponse));
+    when(httpResponse.getCode()).thenReturn(503);
+    when(httpResponse.getEntity()).thenReturn(new StringEntity("unavailable"));
+
+    ForwardedResponse response = loadBalancerService.forward(new HttpGet("/test"));
+
+    assertEquals(503, response.status());
+    assertEquals("unavailable", response.body());
   }
 
   @Test
@@ -118,13 +158,42 @@ public class LoadBalancerServiceTest {
     loadBalancerService.init();
     HttpUriRequest request = new HttpGet("/test");
 
-    try (MockedStatic<HttpClients> httpClientsMock = mockStatic(HttpClients.class)) {
-      httpClientsMock.when(HttpClients::createDefault).thenReturn(httpClient);
-      when(httpClient.execute(any())).thenThrow(new RuntimeException("Connection failed"));
+    when(httpClient.execute(any(), any(HttpClientResponseHandler.class))).thenThrow(new RuntimeException("Connection failed"));
 
-      assertThrows(RuntimeException.class,
-              () -> loadBalancerService.forwardRequest(request));
-    }
+    assertThrows(RuntimeException.class,
+            () -> loadBalancerService.forwardRequest(request));
+  }
+
+  @Test
+  @DisplayName("GIVEN h2 upstream mode WHEN forwardRequest is called THEN it should forward over the HTTP/2 client")
+  void forwardRequest_WithHttp2Upstream_ShouldUseHttp2Client() throws Exception {
+    loadBalancerService.init();
+    HttpUriRequest request = new HttpGet("/test");
+    when(http2UpstreamClient.isEnabled()).thenReturn(true);
+    when(http2UpstreamClient.execute(mockServers.getFirst(), request, Deadline.NONE))
+            .thenReturn(new ForwardedResponse(200, "h2 response", "http://server1", 11, 1_000));
+
+    String response = loadBalancerService.forwardRequest(request);
+
+    assertEquals("h2 response", response);
+    assertEquals("http://server1/test", request.getUri().toString());
+  }
+
+  @Test
+  @DisplayName("GIVEN h2 upstream mode WHEN the deadline passes waiting for a stream THEN the rejection should not be wrapped")
+  void forward_WhenHttp2StreamWaitExceedsDeadline_ShouldPropagateRejection() throws Exception {
+    loadBalancerService.init();
+    HttpUriRequest request = new HttpGet("/test");
+    Deadline deadline = new Deadline(System.currentTimeMillis() + 60_000);
+    when(serverConfig.getAdmission()).thenReturn(new ServerConfig.Admission());
+    when(serverConfig.getUpstream()).thenReturn(new ServerConfig.Upstream());
+    when(http2UpstreamClient.isEnabled()).thenReturn(true);
+    when(http2UpstreamClient.execute(mockServers.getFirst(), request, deadline))
+            .thenThrow(new AdmissionRejectedException(Reason.DEADLINE_EXPIRED, "no stream"));
+
+    AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+            () -> loadBalancerService.forward(request, deadline));
+    assertEquals(Reason.DEADLINE_EXPIRED, e.getReason());
   }
 
   @Test
@@ -144,6 +213,8 @@ public class LoadBalancerServiceTest {
 
     verify(serverConfig).getServers();
     assertFalse(mockServers.getFirst().isHealthy());
+    verify(healthEventBus).publish(argThat(event -> !event.healthy()
+            && event.cause() == HealthTransitionEvent.Cause.MANUAL));
   }
 
   @Test
@@ -156,5 +227,10 @@ public class LoadBalancerServiceTest {
 
     verify(serverConfig).getServers();
     assertTrue(mockServers.getFirst().isHealthy());
+    verify(healthEventBus).publish(argThat(HealthTransitionEvent::healthy));
+  }
+
+  private static Answer<Object> handling(CloseableHttpResponse response) {
+    return invocation -> invocation.<HttpClientResponseHandler<?>>getArgument(1).handleResponse(response);
   }
 }
@@ -0,0 +1,84 @@
+package com.liftlab.loadbalancer.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamConnectionManagerTest {
+
+  private HttpServer server1;
+  private HttpServer server2;
+  private UpstreamConnectionManager connectionManager;
+  private CloseableHttpClient httpClient;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server1 = startServer();
+    server2 = startServer();
+    connectionManager = new UpstreamConnectionManager(DefaultClientTlsStrategy.createDefault(), 10, 20);
+    httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    httpClient.close();
+    server1.stop(0);
+    server2.stop(0);
+  }
+
+  @Test
+  @DisplayName("GIVEN idle pooled connections to two servers WHEN closeIdle is called for one THEN only its connections should be closed")
+  void closeIdle_ShouldOnlyCloseConnectionsToGivenServer() throws Exception {
+    get(url(server1));
+    get(url(server2));
+    assertEquals(2, connectionManager.getTotalStats().getAvailable());
+
+    assertEquals(1, connectionManager.closeIdle(url(server1)));
+
+    assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    assertEquals(0, connectionManager.closeIdle(url(server1)));
+    assertEquals(1, connectionManager.closeIdle(url(server2)));
+  }
+
+  @Test
+  @DisplayName("GIVEN a server whose connections were closed WHEN it is requested again THEN a new connection should be opened")
+  void closeIdle_ShouldNotBreakLaterRequests() throws Exception {
+    get(url(server1));
+    connectionManager.closeIdle(url(server1));
+
+    assertEquals("ok", get(url(server1)));
+  }
+
+  private String get(String url) throws IOException {
+    return httpClient.execute(new HttpGet(url + "/"), response -> EntityUtils.toString(response.getEntity()));
+  }
+
+  private static String url(HttpServer server) {
+    return "http://localhost:" + server.getAddress().getPort();
+  }
+
+  private static HttpServer startServer() throws IOException {
+    HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", exchange -> {
+      byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      exchange.getResponseBody().write(body);
+      exchange.close();
+    });
+    server.start();
+    return server;
+  }
+}
@@ -0,0 +1,127 @@
+package com.liftlab.loadbalancer.tcp;
+
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.service.LoadBalancerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TcpProxyServerTest {
+
+  @Mock private LoadBalancerService loadBalancerService;
+
+  private ServerSocket echoBackend;
+  private SimpleMeterRegistry meterRegistry;
+  private TcpProxyServer tcpProxyServer;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    echoBackend = new ServerSocket(0);
+    Thread.ofVirtual().start(this::echoLoop);
+
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.getTcp().setEnabled(true);
+    serverConfig.getTcp().setPort(0);
+
+    meterRegistry = new SimpleMeterRegistry();
+    tcpProxyServer = new TcpProxyServer(serverConfig, loadBalancerService, meterRegistry);
+    tcpProxyServer.start();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    tcpProxyServer.stop();
+    echoBackend.close();
+  }
+
+  @Test
+  @DisplayName("GIVEN a healthy backend WHEN a client sends bytes THEN they should be relayed and echoed back")
+  void relay_ShouldPassBytesThroughInBothDirections() throws Exception {
+    Server backend = server("http://localhost:" + echoBackend.getLocalPort());
+    when(loadBalancerService.getRegisteredServers()).thenReturn(List.of(backend));
+    when(loadBalancerService.selectServer()).thenReturn(backend);
+
+    String reply = roundTrip("hello over tcp");
+
+    assertEquals("hello over tcp", reply);
+    assertEquals(1.0, meterRegistry.get("loadbalancer.tcp.connections").counter().count());
+  }
+
+  @Test
+  @DisplayName("GIVEN first backend refuses connections WHEN a client connects THEN the next selected backend should be used")
+  void connect_WhenBackendRefuses_ShouldFailOverToNextServer() throws Exception {
+    int closedPort;
+    try (ServerSocket unused = new ServerSocket(0)) {
+      closedPort = unused.getLocalPort();
+    }
+    Server dead = server("http://localhost:" + closedPort);
+    Server alive = server("http://localhost:" + echoBackend.getLocalPort());
+    when(loadBalancerService.getRegisteredServers()).thenReturn(List.of(dead, alive));
+    when(loadBalancerService.selectServer()).thenReturn(dead, alive);
+
+    String reply = roundTrip("failover");
+
+    assertEquals("failover", reply);
+    assertEquals(1.0, meterRegistry.get("loadbalancer.tcp.connect.failures").counter().count());
+  }
+
+  @Test
+  @DisplayName("GIVEN no healthy backend WHEN a client connects THEN the connection should be closed")
+  void connect_WhenNoHealthyServers_ShouldCloseClient() throws Exception {
+    when(loadBalancerService.getRegisteredServers()).thenReturn(List.of(server("http://localhost:1")));
+    when(loadBalancerService.selectServer()).thenThrow(new IllegalStateException("No healthy servers available"));
+
+    try (Socket client = new Socket("localhost", tcpProxyServer.getLocalPort())) {
+      assertEquals(-1, client.getInputStream().read());
+    }
+  }
+
+  private String roundTrip(String message) throws IOException {
+    try (Socket client = new Socket("localhost", tcpProxyServer.getLocalPort())) {
+      client.getOutputStream().write(message.getBytes(StandardCharsets.UTF_8));
+      client.shutdownOutput();
+      return new String(client.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private void echoLoop() {
+    while (!echoBackend.isClosed()) {
+      try {
+        Socket socket = echoBackend.accept();
+        Thread.ofVirtual().start(() -> {
+          try (socket; InputStream in = socket.getInputStream(); OutputStream out = socket.getOutputStream()) {
+            in.transferTo(out);
+          } catch (IOException ignored) {
+            // client went away
+          }
+        });
+      } catch (IOException e) {
+        return;
+      }
+    }
+  }
+
+  private Server server(String url) {
+    Server server = new Server();
+    server.setUrl(url);
+    return server;
+  }
+}
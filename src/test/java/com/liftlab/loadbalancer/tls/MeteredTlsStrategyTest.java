@@ -0,0 +1,184 @@
+package com.liftlab.loadbalancer.tls;
+
+import com.liftlab.loadbalancer.admission.Deadline;
+import com.liftlab.loadbalancer.config.ServerConfig;
+import com.liftlab.loadbalancer.config.ServerConfig.Server;
+import com.liftlab.loadbalancer.service.Http2UpstreamClient;
+import com.liftlab.loadbalancer.service.UpstreamConnectionManager;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsParameters;
+import com.sun.net.httpserver.HttpsServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MeteredTlsStrategyTest {
+  private static final String PASSWORD = "test-password";
+
+  @TempDir
+  static Path keystoreDir;
+  private static Path keystore;
+
+  private SimpleMeterRegistry meterRegistry;
+  private MeteredTlsStrategy tlsStrategy;
+  private UpstreamConnectionManager connectionManager;
+  private CloseableHttpClient httpClient;
+  private HttpsServer backend;
+
+  @BeforeAll
+  static void createKeystore() throws Exception {
+    keystore = keystoreDir.resolve("backend.p12");
+    Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+            "-genkeypair", "-alias", "backend", "-keyalg", "EC", "-groupname", "secp256r1",
+            "-dname", "CN=localhost", "-ext", "SAN=dns:localhost", "-validity", "1",
+            "-storetype", "PKCS12", "-keystore", keystore.toString(), "-storepass", PASSWORD)
+            .redirectErrorStream(true)
+            .start();
+    assertTrue(keytool.waitFor(30, TimeUnit.SECONDS), "keytool did not finish");
+    assertEquals(0, keytool.exitValue(), new String(keytool.getInputStream().readAllBytes()));
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    meterRegistry = new SimpleMeterRegistry();
+    SSLContext sslContext = SSLContexts.custom()
+            .loadTrustMaterial(keystore.toFile(), PASSWORD.toCharArray())
+            .build();
+    tlsStrategy = new MeteredTlsStrategy(sslContext, meterRegistry);
+    connectionManager = new UpstreamConnectionManager(tlsStrategy, 10, 20);
+    httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    httpClient.close();
+    if (backend != null) {
+      backend.stop(0);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"TLSv1.2", "TLSv1.3"})
+  @DisplayName("GIVEN a pooled connection to a TLS backend WHEN a second connection is opened THEN it should resume the session")
+  void upgrade_SecondConnectionToSameBackend_ShouldResume(String protocol) throws Exception {
+    String url = startBackend(protocol);
+
+    assertEquals("ok", get(url));
+    connectionManager.closeIdle(url);
+    assertEquals("ok", get(url));
+
+    assertEquals(1, handshakes("full"));
+    assertEquals(1, handshakes("resumed"));
+  }
+
+  @Test
+  @DisplayName("GIVEN separate backends WHEN each is connected once THEN both handshakes should be full")
+  void upgrade_DifferentBackends_ShouldNotResume() throws Exception {
+    String first = startBackend("TLSv1.3");
+    HttpsServer firstBackend = backend;
+    try {
+      String second = startBackend("TLSv1.3");
+
+      get(first);
+      get(second);
+    } finally {
+      firstBackend.stop(0);
+    }
+
+    assertEquals(2, handshakes("full"));
+    assertEquals(0, handshakes("resumed"));
+  }
+
+  @Test
+  @DisplayName("GIVEN a session established by the HTTP/1 client WHEN the h2 client connects to the same backend THEN it should resume that session")
+  void upgrade_Http2ClientAfterHttp1Client_ShouldShareSessionCache() throws Exception {
+    String url = startBackend("TLSv1.3");
+    get(url);
+
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.getUpstream().setProtocol("h2");
+    serverConfig.getUpstream().setResponseTimeoutSeconds(2);
+    Http2UpstreamClient http2Client = new Http2UpstreamClient(serverConfig, tlsStrategy);
+    http2Client.init();
+    Server server = new Server();
+    server.setUrl(url);
+    try {
+      http2Client.execute(server, new HttpGet(url + "/"), Deadline.NONE);
+    } catch (Exception e) {
+      // The stub backend only speaks HTTP/1.1; the TLS handshake is all this test needs
+    } finally {
+      http2Client.close();
+    }
+
+    assertEquals(1, handshakes("full"));
+    assertEquals(1, handshakes("resumed"));
+  }
+
+  @Test
+  @DisplayName("GIVEN an untrusted backend certificate WHEN connecting THEN the handshake should be counted as failed")
+  void upgrade_WithUntrustedCertificate_ShouldCountFailure() throws Exception {
+    String url = startBackend("TLSv1.3");
+    MeteredTlsStrategy untrusting = new MeteredTlsStrategy(SSLContexts.createDefault(), meterRegistry);
+
+    try (CloseableHttpClient client = HttpClients.custom()
+            .setConnectionManager(new UpstreamConnectionManager(untrusting, 1, 1))
+            .build()) {
+      assertThrows(IOException.class, () -> client.execute(new HttpGet(url + "/"), response -> null));
+    }
+
+    assertEquals(1, meterRegistry.counter("loadbalancer.tls.handshake.failures").count());
+    assertEquals(0, handshakes("full"));
+  }
+
+  private String get(String url) throws IOException {
+    return httpClient.execute(new HttpGet(url + "/"), response -> EntityUtils.toString(response.getEntity()));
+  }
+
+  private long handshakes(String type) {
+    return meterRegistry.timer("loadbalancer.tls.handshake", "type", type).count();
+  }
+
+  private String startBackend(String protocol) throws Exception {
+    SSLContext serverContext = SSLContexts.custom()
+            .loadKeyMaterial(keystore.toFile(), PASSWORD.toCharArray(), PASSWORD.toCharArray())
+            .build();
+    backend = HttpsServer.create(new InetSocketAddress("localhost", 0), 0);
+    backend.setHttpsConfigurator(new HttpsConfigurator(serverContext) {
+      @Override
+      public void configure(HttpsParameters params) {
+        SSLParameters parameters = getSSLContext().getDefaultSSLParameters();
+        parameters.setProtocols(new String[]{protocol});
+        params.setSSLParameters(parameters);
+      }
+    });
+    backend.createContext("/", exchange -> {
+      byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      exchange.getResponseBody().write(body);
+      exchange.close();
+    });
+    backend.start();
+    return "https://localhost:" + backend.getAddress().getPort();
+  }
+}